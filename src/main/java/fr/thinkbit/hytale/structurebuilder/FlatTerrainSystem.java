@@ -0,0 +1,160 @@
+package fr.thinkbit.hytale.structurebuilder;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.hytale.server.core.universe.world.events.ChunkPreLoadProcessEvent;
+import fr.thinkbit.hytale.structurebuilder.generator.ColumnProfile;
+import fr.thinkbit.hytale.structurebuilder.generator.FlatRegion;
+import fr.thinkbit.hytale.structurebuilder.generator.Tile;
+import fr.thinkbit.hytale.structurebuilder.generator.WorldBlockPlacer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Flattens registered {@link FlatRegion}s lazily: when the world generates a
+ * chunk inside a region, the region's layer profile is stamped on the
+ * chunk's columns before it is loaded. Registering a region costs nothing
+ * up front, and chunks nobody visits are never written.
+ * Chunks generated before the region was registered are left as they are.
+ * <p>
+ * Regions are kept in a JSON file so they still apply after a restart.
+ * Entries that cannot be read are skipped, reported through
+ * {@link #getLoadErrors()}, and written back unchanged for an operator to fix.
+ */
+public class FlatTerrainSystem {
+
+    private final Path file;
+    private final List<FlatRegion> regions = new CopyOnWriteArrayList<>();
+    private final List<JsonElement> unreadable = new ArrayList<>();
+    private final List<String> loadErrors = new ArrayList<>();
+
+    /**
+     * @throws UncheckedIOException if {@code file} exists but cannot be read
+     */
+    public FlatTerrainSystem(Path file) {
+        this.file = file;
+        if (!Files.exists(file)) return;
+        JsonArray entries;
+        try {
+            entries = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read flat regions from " + file, e);
+        } catch (JsonParseException | IllegalStateException e) {
+            // Keep the whole file aside rather than overwrite it on the next save
+            Path aside = file.resolveSibling(file.getFileName() + ".malformed");
+            loadErrors.add("Malformed flat regions file, moved to " + aside + ": " + e.getMessage());
+            moveAside(aside);
+            return;
+        }
+        for (JsonElement entry : entries) {
+            try {
+                regions.add(FlatRegion.fromJson(entry.getAsJsonObject()));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                unreadable.add(entry);
+                loadErrors.add("Skipped flat region: " + e.getMessage());
+            }
+        }
+    }
+
+    public List<FlatRegion> getRegions() {
+        return List.copyOf(regions);
+    }
+
+    /** What could not be loaded from the file, one message per problem. */
+    public List<String> getLoadErrors() {
+        return List.copyOf(loadErrors);
+    }
+
+    /**
+     * Saves the region, then starts flattening it.
+     *
+     * @throws UncheckedIOException if the regions cannot be saved; the region is not added
+     */
+    public synchronized void add(FlatRegion region) {
+        // Saved first, so a region missing from the file never flattens chunks until the next restart
+        List<FlatRegion> updated = new ArrayList<>(regions);
+        updated.add(region);
+        save(updated);
+        regions.add(region);
+    }
+
+    /**
+     * Stops flattening the region; chunks already generated keep their terrain.
+     *
+     * @throws UncheckedIOException if the regions cannot be saved; the region is kept
+     */
+    public synchronized boolean remove(String id) {
+        List<FlatRegion> updated = new ArrayList<>(regions);
+        if (!updated.removeIf(region -> region.id().equals(id))) return false;
+        save(updated);
+        regions.retainAll(updated);
+        return true;
+    }
+
+    public void onChunkPreLoad(ChunkPreLoadProcessEvent event) {
+        // Chunks generated before keep their terrain, even inside a region
+        if (!event.isNewlyGenerated() || regions.isEmpty()) return;
+        WorldChunk chunk = event.getChunk();
+        List<Stamp> stamps = stampsFor(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+        if (stamps.isEmpty()) return;
+        var placer = new WorldBlockPlacer(chunk.getWorld());
+        for (Stamp stamp : stamps) {
+            Tile area = stamp.area();
+            placer.stampColumns(chunk, area.minX(), area.minZ(), area.maxX(), area.maxZ(), stamp.profile());
+        }
+    }
+
+    /**
+     * What to stamp on chunk ({@code chunkX}, {@code chunkZ}) of {@code world}
+     * as it is generated: the part of each region of that world inside the chunk.
+     */
+    List<Stamp> stampsFor(String world, int chunkX, int chunkZ) {
+        List<Stamp> stamps = new ArrayList<>();
+        for (FlatRegion region : regions) {
+            if (!region.world().equals(world)) continue;
+            Tile area = region.clipToChunk(chunkX, chunkZ);
+            if (area != null) {
+                stamps.add(new Stamp(area, region.profile()));
+            }
+        }
+        return stamps;
+    }
+
+    record Stamp(Tile area, ColumnProfile profile) {
+    }
+
+    private void save(List<FlatRegion> regions) {
+        JsonArray json = new JsonArray();
+        for (FlatRegion region : regions) {
+            json.add(region.toJson());
+        }
+        unreadable.forEach(json::add);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, json.toString(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save flat regions to " + file, e);
+        }
+    }
+
+    private void moveAside(Path aside) {
+        try {
+            Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not move " + file + " aside", e);
+        }
+    }
+}
@@ -4,10 +4,17 @@ import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.hypixel.hytale.common.plugin.PluginIdentifier;
 import com.hypixel.hytale.server.core.plugin.PluginManager;
+import com.hypixel.hytale.server.core.universe.world.events.ChunkPreLoadProcessEvent;
 import com.top_serveurs.hytale.plugins.mcp.McpPlugin;
+import fr.thinkbit.hytale.structurebuilder.build.CheckpointStore;
+import fr.thinkbit.hytale.structurebuilder.feature.BuildStatusFeature;
 import fr.thinkbit.hytale.structurebuilder.feature.BuildStructureFeature;
+import fr.thinkbit.hytale.structurebuilder.feature.BuildStructuresFeature;
+import fr.thinkbit.hytale.structurebuilder.feature.CancelBuildFeature;
 import fr.thinkbit.hytale.structurebuilder.feature.CreateFlatWorldFeature;
 import fr.thinkbit.hytale.structurebuilder.feature.CreateWorldFeature;
+import fr.thinkbit.hytale.structurebuilder.feature.FlatRegionsFeature;
+import fr.thinkbit.hytale.structurebuilder.feature.ResumeFlatWorldFeature;
 
 import javax.annotation.Nonnull;
 
@@ -34,12 +41,28 @@ public class StructureBuilderPlugin extends JavaPlugin {
         // Register prefab blocker to cancel world-gen structures
         getEntityStoreRegistry().registerSystem(prefabBlocker);
 
+        // Generate chunks inside lazy flat regions flat
+        var flatTerrain = new FlatTerrainSystem(getDataDirectory().resolve("flat-regions.json"));
+        for (String error : flatTerrain.getLoadErrors()) {
+            getLogger().atWarning().log("StructureBuilder: " + error);
+        }
+        getEventRegistry().registerGlobal(ChunkPreLoadProcessEvent.class, flatTerrain::onChunkPreLoad);
+
         // Register MCP tools
         var mcp = (McpPlugin) PluginManager.get().getPlugin(new PluginIdentifier("Top-Games", "MCP"));
-        mcp.getFeatureRegistry().registerFeature(new BuildStructureFeature());
-        mcp.getFeatureRegistry().registerFeature(new CreateFlatWorldFeature());
+        var buildStructure = new BuildStructureFeature();
+        mcp.getFeatureRegistry().registerFeature(buildStructure);
+        mcp.getFeatureRegistry().registerFeature(new BuildStructuresFeature(buildStructure));
+        mcp.getFeatureRegistry().registerFeature(new BuildStatusFeature());
+        mcp.getFeatureRegistry().registerFeature(new CancelBuildFeature());
+        var flatWorld = new CreateFlatWorldFeature(
+                new CheckpointStore(getDataDirectory().resolve("checkpoints")), flatTerrain);
+        mcp.getFeatureRegistry().registerFeature(flatWorld);
+        mcp.getFeatureRegistry().registerFeature(new ResumeFlatWorldFeature(flatWorld));
+        mcp.getFeatureRegistry().registerFeature(new FlatRegionsFeature(flatTerrain));
         mcp.getFeatureRegistry().registerFeature(new CreateWorldFeature());
 
-        getLogger().atInfo().log("StructureBuilder: registered MCP tools and prefab blocker (blocking=" + prefabBlocker.isBlocking() + ")");
+        getLogger().atInfo().log("StructureBuilder: registered MCP tools and prefab blocker (blocking=" + prefabBlocker.isBlocking() +
+                "), " + flatTerrain.getRegions().size() + " lazy flat regions");
     }
 }
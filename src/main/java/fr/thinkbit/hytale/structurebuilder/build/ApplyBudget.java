@@ -0,0 +1,28 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How much world-thread work a build may do per tick. A tick slice ends as
+ * soon as either limit is reached.
+ */
+public record ApplyBudget(int maxBlocksPerTick, long maxNanosPerTick) {
+
+    public static final int DEFAULT_BLOCKS_PER_TICK = 50_000;
+    public static final int DEFAULT_MILLIS_PER_TICK = 10;
+
+    public static final ApplyBudget DEFAULT = of(DEFAULT_BLOCKS_PER_TICK, DEFAULT_MILLIS_PER_TICK);
+
+    public ApplyBudget {
+        if (maxBlocksPerTick < 1) {
+            throw new IllegalArgumentException("maxBlocksPerTick must be at least 1");
+        }
+        if (maxNanosPerTick < 1) {
+            throw new IllegalArgumentException("maxNanosPerTick must be positive");
+        }
+    }
+
+    public static ApplyBudget of(int maxBlocksPerTick, int maxMillisPerTick) {
+        return new ApplyBudget(maxBlocksPerTick, TimeUnit.MILLISECONDS.toNanos(maxMillisPerTick));
+    }
+}
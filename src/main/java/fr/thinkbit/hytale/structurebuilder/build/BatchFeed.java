@@ -0,0 +1,86 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Staged batches handed to a {@link TickBudgetedApplier} while staging is
+ * still running. The applier idles once it has written everything offered
+ * so far and resumes on the next offer; it completes once the feed is
+ * closed and drained. Offers and reads may come from different threads.
+ */
+public final class BatchFeed {
+
+    private final List<ChunkBatch> batches = new ArrayList<>();
+    private boolean closed;
+    // Applier parked until the next offer or close
+    private Runnable waiting;
+
+    /** A closed feed holding {@code batches}. */
+    public static BatchFeed of(List<ChunkBatch> batches) {
+        var feed = new BatchFeed();
+        feed.offer(batches);
+        feed.close();
+        return feed;
+    }
+
+    /** Appends batches after the ones already offered. */
+    public void offer(List<ChunkBatch> more) {
+        Runnable resume;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Feed is closed");
+            }
+            batches.addAll(more);
+            resume = takeWaiting();
+        }
+        if (resume != null) {
+            resume.run();
+        }
+    }
+
+    /** No more batches will be offered. */
+    public void close() {
+        Runnable resume;
+        synchronized (this) {
+            closed = true;
+            resume = takeWaiting();
+        }
+        if (resume != null) {
+            resume.run();
+        }
+    }
+
+    public synchronized int size() {
+        return batches.size();
+    }
+
+    public synchronized ChunkBatch get(int index) {
+        return batches.get(index);
+    }
+
+    public synchronized boolean isDrained(int index) {
+        return closed && index >= batches.size();
+    }
+
+    /**
+     * Parks {@code resume} until the next offer or close if nothing past
+     * {@code index} is available yet. Returns false, without parking, when
+     * there is something to do right away.
+     */
+    synchronized boolean park(int index, Runnable resume) {
+        if (closed || index < batches.size()) {
+            return false;
+        }
+        waiting = resume;
+        return true;
+    }
+
+    private Runnable takeWaiting() {
+        Runnable resume = waiting;
+        waiting = null;
+        return resume;
+    }
+}
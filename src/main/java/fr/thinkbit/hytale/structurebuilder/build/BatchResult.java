@@ -0,0 +1,32 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
+
+import java.util.List;
+
+/**
+ * Outcome of several structures built in one pass: one result per entry, in
+ * request order, and the totals. Write and apply statistics only exist for
+ * the batch as a whole, since the entries share one stage.
+ */
+public record BatchResult(List<StructureResult> entries, StructureResult totals) {
+
+    public BatchResult withApplyStats(long blocksWritten, long blocksSkipped) {
+        return new BatchResult(entries, totals.withApplyStats(blocksWritten, blocksSkipped));
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("status", "success");
+        json.addProperty("count", entries.size());
+        JsonArray structures = new JsonArray();
+        for (StructureResult entry : entries) {
+            structures.add(entry.toJson());
+        }
+        json.add("structures", structures);
+        json.add("totals", totals.toJson());
+        return json;
+    }
+}
@@ -0,0 +1,164 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import com.google.gson.JsonObject;
+import fr.thinkbit.hytale.structurebuilder.generator.BuildProgress;
+import fr.thinkbit.hytale.structurebuilder.generator.CancellationToken;
+import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * A build running in the background, tracked by a {@link BuildJobManager}.
+ * State is updated by the pipeline threads and read by status requests.
+ */
+public final class BuildJob implements BuildListener {
+
+    public enum State { QUEUED, GENERATING, APPLYING, COMPLETED, FAILED, CANCELLED }
+
+    private final String id;
+    private final String clientId;
+    private final String structureType;
+    private final long createdAt = System.currentTimeMillis();
+    private final CancellationToken cancellation = new CancellationToken();
+    // Completes after the job's own state has been updated
+    private final CompletableFuture<StructureResult> completion = new CompletableFuture<>();
+    // Set until the manager starts the job
+    private Function<BuildJob, CompletableFuture<StructureResult>> start;
+
+    private volatile State state = State.QUEUED;
+    private volatile BuildProgress progress;
+    private volatile StructureResult result;
+    private volatile String error;
+    private volatile long finishedAt;
+
+    BuildJob(String id, String clientId, String structureType,
+             Function<BuildJob, CompletableFuture<StructureResult>> start) {
+        this.id = id;
+        this.clientId = clientId;
+        this.structureType = structureType;
+        this.start = start;
+    }
+
+    public String getId() { return id; }
+    public String getClientId() { return clientId; }
+    public String getStructureType() { return structureType; }
+    public State getState() { return state; }
+    public StructureResult getResult() { return result; }
+    public String getError() { return error; }
+
+    public CancellationToken getCancellationToken() { return cancellation; }
+
+    // Wall-clock time the job ended, 0 while it runs
+    long getFinishedAt() { return finishedAt; }
+
+    public boolean isDone() {
+        return state == State.COMPLETED || state == State.FAILED || state == State.CANCELLED;
+    }
+
+    /**
+     * Requests cancellation. The job stops at its next chunk or slice and
+     * then reports {@link State#CANCELLED}. Returns false if it already ended.
+     */
+    public boolean cancel() {
+        if (isDone()) return false;
+        cancellation.cancel();
+        return true;
+    }
+
+    /**
+     * Waits for the job to end and returns its result. Throws a
+     * {@link CancellationException} if the job was cancelled.
+     */
+    public StructureResult await() throws InterruptedException, ExecutionException {
+        return completion.get();
+    }
+
+    /**
+     * Same as {@link #await()}, giving up with a {@link TimeoutException}
+     * after {@code timeoutMs}. The job itself keeps running.
+     */
+    public StructureResult await(long timeoutMs) throws InterruptedException, ExecutionException, TimeoutException {
+        return completion.get(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Live progress counters, or null while the job is queued.
+     */
+    public BuildProgress getProgress() { return progress; }
+
+    /**
+     * Blocks written to the world so far.
+     */
+    public long getBlocksPlaced() {
+        BuildProgress current = progress;
+        return current != null ? current.getBlocksApplied() : 0;
+    }
+
+    @Override
+    public void onGenerating(BuildProgress progress) {
+        this.progress = progress;
+        state = State.GENERATING;
+    }
+
+    @Override
+    public void onApplying(TickBudgetedApplier applier) {
+        state = State.APPLYING;
+    }
+
+    CompletableFuture<StructureResult> start() {
+        Function<BuildJob, CompletableFuture<StructureResult>> starter = start;
+        start = null;
+        return starter.apply(this);
+    }
+
+    void complete(StructureResult result) {
+        this.result = result;
+        finish(State.COMPLETED);
+        completion.complete(result);
+    }
+
+    void fail(Throwable t) {
+        // Unwrap the future's wrapper to report the actual cause
+        Throwable cause = (t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null
+                ? t.getCause() : t;
+        this.error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        finish(cause instanceof CancellationException ? State.CANCELLED : State.FAILED);
+        completion.completeExceptionally(cause);
+    }
+
+    private void finish(State finalState) {
+        finishedAt = System.currentTimeMillis();
+        state = finalState;
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("jobId", id);
+        json.addProperty("clientId", clientId);
+        json.addProperty("structureType", structureType);
+        json.addProperty("state", state.name().toLowerCase());
+        json.addProperty("blocksPlaced", getBlocksPlaced());
+        if (cancellation.isCancelled()) {
+            json.addProperty("cancelRequested", true);
+        }
+        BuildProgress current = progress;
+        if (current != null) {
+            json.add("progress", current.toJson());
+        }
+        long end = finishedAt != 0 ? finishedAt : System.currentTimeMillis();
+        json.addProperty("elapsedMs", end - createdAt);
+        if (result != null) {
+            json.add("result", result.toJson());
+        }
+        if (error != null) {
+            json.addProperty("error", error);
+        }
+        return json;
+    }
+}
@@ -0,0 +1,267 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Admits, runs and tracks builds so callers can wait for them or poll them
+ * by ID.
+ * <p>
+ * At most {@code maxConcurrent} jobs run at once. Further jobs wait in a
+ * bounded queue, one sub-queue per client, and are started round-robin
+ * across clients as running jobs end, so one busy client cannot starve the
+ * others. When the queue is full, {@link #submit} throws a
+ * {@link BuildRejectedException} instead of piling more work on the world
+ * thread.
+ * <p>
+ * Job orchestration (starting a job, recording its outcome, handing its
+ * slot on) runs on the job executor. The default manager uses one virtual
+ * thread per task, so neither the world thread nor the generation pool does
+ * that bookkeeping, and callers waiting in {@link BuildJob#await()} only park.
+ * <p>
+ * A submission carrying an idempotency key already seen from the same
+ * client gets the earlier job back, queued, running or completed, instead
+ * of a new build; see {@link IdempotencyCache}. Reusing a key for a
+ * different request is refused.
+ * <p>
+ * Finished jobs are retained up to a fixed count, oldest dropped first;
+ * running and queued jobs are never dropped.
+ */
+public class BuildJobManager {
+
+    public static final String DEFAULT_CLIENT = "default";
+    public static final int DEFAULT_MAX_CONCURRENT_JOBS = 2;
+    public static final int DEFAULT_MAX_QUEUED_JOBS = 32;
+    public static final int DEFAULT_MAX_QUEUED_JOBS_PER_CLIENT = 8;
+    public static final int DEFAULT_RETAINED_JOBS = 256;
+    public static final int DEFAULT_IDEMPOTENCY_KEYS = 1024;
+    public static final long DEFAULT_IDEMPOTENCY_TTL_MS = 15 * 60 * 1000L;
+
+    private static final BuildJobManager DEFAULT = new BuildJobManager(
+            Integer.getInteger("structurebuilder.maxConcurrentJobs", DEFAULT_MAX_CONCURRENT_JOBS),
+            Integer.getInteger("structurebuilder.maxQueuedJobs", DEFAULT_MAX_QUEUED_JOBS),
+            Integer.getInteger("structurebuilder.maxQueuedJobsPerClient", DEFAULT_MAX_QUEUED_JOBS_PER_CLIENT),
+            DEFAULT_RETAINED_JOBS,
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("StructureBuilder-Job-", 1).factory()));
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final int maxQueuedPerClient;
+    private final int retainedJobs;
+    private final Executor jobExecutor;
+    private final Map<String, BuildJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finished = new ConcurrentLinkedQueue<>();
+
+    // Guarded by this. Client order is the round-robin order: a client
+    // that gets a job started moves to the back.
+    private final LinkedHashMap<String, ArrayDeque<BuildJob>> queues = new LinkedHashMap<>();
+    private int running;
+    private int queued;
+    private final IdempotencyCache idempotency = new IdempotencyCache(DEFAULT_IDEMPOTENCY_KEYS,
+            Long.getLong("structurebuilder.idempotencyTtlMs", DEFAULT_IDEMPOTENCY_TTL_MS), System::currentTimeMillis);
+
+    /**
+     * Manager without admission limits, retaining {@code retainedJobs}
+     * finished jobs and orchestrating on the calling threads.
+     */
+    public BuildJobManager(int retainedJobs) {
+        this(Integer.MAX_VALUE, 0, 0, retainedJobs, Runnable::run);
+    }
+
+    public BuildJobManager(int maxConcurrent, int maxQueued, int maxQueuedPerClient, int retainedJobs) {
+        this(maxConcurrent, maxQueued, maxQueuedPerClient, retainedJobs, Runnable::run);
+    }
+
+    public BuildJobManager(int maxConcurrent, int maxQueued, int maxQueuedPerClient, int retainedJobs,
+                           Executor jobExecutor) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        if (maxQueued < 0 || maxQueuedPerClient < 0) {
+            throw new IllegalArgumentException("Queue limits must not be negative");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxQueuedPerClient = maxQueuedPerClient;
+        this.retainedJobs = retainedJobs;
+        this.jobExecutor = jobExecutor;
+    }
+
+    public static BuildJobManager getDefault() {
+        return DEFAULT;
+    }
+
+    public BuildJob submit(String structureType, Function<BuildJob, CompletableFuture<StructureResult>> start) {
+        return submit(DEFAULT_CLIENT, structureType, start);
+    }
+
+    /**
+     * Admits a job for {@code clientId} and starts it now or once a slot
+     * frees up. {@code start} receives the job, to pass on as the pipeline's
+     * {@link BuildListener} together with its cancellation token, and
+     * returns the build future.
+     *
+     * @throws BuildRejectedException if the job can neither run nor wait
+     */
+    public BuildJob submit(String clientId, String structureType,
+                           Function<BuildJob, CompletableFuture<StructureResult>> start) {
+        return submit(clientId, null, structureType, start);
+    }
+
+    /**
+     * Same as {@link #submit(String, String, String, String, Function)}
+     * with the structure type as the request.
+     */
+    public BuildJob submit(String clientId, String idempotencyKey, String structureType,
+                           Function<BuildJob, CompletableFuture<StructureResult>> start) {
+        return submit(clientId, idempotencyKey, structureType, structureType, start);
+    }
+
+    /**
+     * Same as {@link #submit(String, String, Function)}, but returns the job
+     * already submitted by {@code clientId} under {@code idempotencyKey}
+     * while it is remembered, without admitting or starting anything.
+     * A null key always submits.
+     *
+     * @param request what is being built (tool and arguments); a remembered
+     *                key only matches a submission of the same request
+     * @throws BuildRejectedException if the key was used for another request
+     */
+    public BuildJob submit(String clientId, String idempotencyKey, String request, String structureType,
+                           Function<BuildJob, CompletableFuture<StructureResult>> start) {
+        BuildJob job = new BuildJob(UUID.randomUUID().toString(), clientId, structureType, start);
+        // Keys are per client so unrelated callers cannot collide
+        String key = idempotencyKey != null ? clientId + '\n' + idempotencyKey : null;
+        synchronized (this) {
+            if (key != null) {
+                IdempotencyCache.Entry existing = idempotency.find(key);
+                if (existing != null) {
+                    if (!existing.request().equals(request)) {
+                        throw new BuildRejectedException("idempotencyKey " + idempotencyKey +
+                                " was already used for a different request (job " + existing.job().getId() + ", " +
+                                existing.job().getStructureType() + "). Use a new key for a new request.");
+                    }
+                    return existing.job();
+                }
+            }
+            if (running >= maxConcurrent) {
+                ArrayDeque<BuildJob> clientQueue = queues.get(clientId);
+                int clientQueued = clientQueue != null ? clientQueue.size() : 0;
+                if (queued >= maxQueued || clientQueued >= maxQueuedPerClient) {
+                    throw new BuildRejectedException("Server busy: " + running + " builds running, " + queued +
+                            " queued (" + clientQueued + " for this client). Retry later.");
+                }
+                queues.computeIfAbsent(clientId, k -> new ArrayDeque<>()).add(job);
+                queued++;
+                jobs.put(job.getId(), job);
+                if (key != null) idempotency.put(key, request, job);
+                return job;
+            }
+            running++;
+            jobs.put(job.getId(), job);
+            if (key != null) idempotency.put(key, request, job);
+        }
+        start(job);
+        return job;
+    }
+
+    public BuildJob get(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /**
+     * Requests cancellation of a job. A queued job is removed from the queue
+     * and ends right away. Returns the job, or null if unknown.
+     */
+    public BuildJob cancel(String jobId) {
+        BuildJob job = jobs.get(jobId);
+        if (job == null) return null;
+        boolean dequeued;
+        synchronized (this) {
+            ArrayDeque<BuildJob> clientQueue = queues.get(job.getClientId());
+            dequeued = clientQueue != null && clientQueue.remove(job);
+            if (dequeued) {
+                queued--;
+                if (clientQueue.isEmpty()) queues.remove(job.getClientId());
+            }
+        }
+        job.cancel();
+        if (dequeued) {
+            job.fail(new CancellationException("Build cancelled before it started"));
+            retire(job);
+        }
+        return job;
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    public synchronized int getQueuedCount() {
+        return queued;
+    }
+
+    private void start(BuildJob job) {
+        CompletableFuture.supplyAsync(job::start, jobExecutor)
+                .thenCompose(future -> future)
+                // Not on the world thread, which completes the apply phase
+                .whenCompleteAsync((result, error) -> {
+                    if (error != null) {
+                        job.fail(error);
+                    } else {
+                        job.complete(result);
+                    }
+                    retire(job);
+                    startNext();
+                }, jobExecutor);
+    }
+
+    // A running job ended: hand its slot to the next client in turn
+    private void startNext() {
+        BuildJob next = null;
+        synchronized (this) {
+            running--;
+            Iterator<Map.Entry<String, ArrayDeque<BuildJob>>> it = queues.entrySet().iterator();
+            if (it.hasNext()) {
+                Map.Entry<String, ArrayDeque<BuildJob>> first = it.next();
+                next = first.getValue().poll();
+                it.remove();
+                if (!first.getValue().isEmpty()) {
+                    queues.put(first.getKey(), first.getValue());
+                }
+                queued--;
+                running++;
+            }
+        }
+        if (next != null) {
+            start(next);
+        }
+    }
+
+    private void retire(BuildJob job) {
+        finished.add(job.getId());
+        while (finished.size() > retainedJobs) {
+            String oldest = finished.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import fr.thinkbit.hytale.structurebuilder.generator.BuildProgress;
+
+/**
+ * Observes the phases of a {@link BuildPipeline} run. Callbacks arrive on
+ * the thread running that phase, so implementations must be thread-safe.
+ */
+public interface BuildListener {
+
+    BuildListener NONE = new BuildListener() {};
+
+    /** Generation has started on a worker thread; {@code progress} is updated until the build ends. */
+    default void onGenerating(BuildProgress progress) {}
+
+    /**
+     * Generation finished and the staged writes are being applied. Tiled
+     * runs start applying once their first tiles are staged.
+     */
+    default void onApplying(TickBudgetedApplier applier) {}
+}
@@ -0,0 +1,344 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import fr.thinkbit.hytale.structurebuilder.generator.BlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.generator.BuildProgress;
+import fr.thinkbit.hytale.structurebuilder.generator.CancellationToken;
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkBatch;
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkBatchingBlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkWriter;
+import fr.thinkbit.hytale.structurebuilder.generator.CountingBlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
+import fr.thinkbit.hytale.structurebuilder.generator.Tile;
+import fr.thinkbit.hytale.structurebuilder.generator.TiledGeneration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs a build in two phases: generators compute geometry on a worker pool
+ * into an in-memory {@link ChunkBatchingBlockPlacer}, then only the finished
+ * stage is handed to the world thread, where a {@link TickBudgetedApplier}
+ * writes it. Generators never touch the world, so the split is safe.
+ * <p>
+ * A {@link TiledGeneration} is staged one tile per fork-join task instead,
+ * each tile into its own stage, so large areas use every core, and each
+ * tile is applied while later ones are still being staged.
+ */
+public class BuildPipeline {
+
+    private static final BuildPipeline DEFAULT = new BuildPipeline(createGenerationPool(), createTilePool());
+
+    private final Executor generationExecutor;
+    private final ForkJoinPool tilePool;
+
+    public BuildPipeline(Executor generationExecutor) {
+        this(generationExecutor, ForkJoinPool.commonPool());
+    }
+
+    public BuildPipeline(Executor generationExecutor, ForkJoinPool tilePool) {
+        this.generationExecutor = generationExecutor;
+        this.tilePool = tilePool;
+    }
+
+    public static BuildPipeline getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Generates off the world thread, then applies the staged writes through
+     * {@code writer} on {@code worldExecutor}. The returned result carries the
+     * staging write statistics.
+     */
+    public CompletableFuture<StructureResult> run(Function<BlockPlacer, StructureResult> generation,
+                                                  Executor worldExecutor, ChunkWriter writer,
+                                                  ApplyBudget budget) {
+        return run(generation, worldExecutor, writer, budget, BuildListener.NONE, CancellationToken.NONE);
+    }
+
+    /**
+     * Same as {@link #run(Function, Executor, ChunkWriter, ApplyBudget)},
+     * reporting each phase to {@code listener}. Cancelling {@code cancellation}
+     * stops staging at the next chunk or applying at the next slice, and the
+     * future fails with a {@link java.util.concurrent.CancellationException}.
+     */
+    public CompletableFuture<StructureResult> run(Function<BlockPlacer, StructureResult> generation,
+                                                  Executor worldExecutor, ChunkWriter writer,
+                                                  ApplyBudget budget, BuildListener listener,
+                                                  CancellationToken cancellation) {
+        var progress = new BuildProgress();
+        var placer = new ChunkBatchingBlockPlacer(writer.getRegistry(), cancellation, progress);
+        return CompletableFuture.supplyAsync(() -> {
+                    listener.onGenerating(progress);
+                    return generation.apply(placer);
+                }, generationExecutor)
+                .thenCompose(generated -> {
+                    var applier = new TickBudgetedApplier(worldExecutor, writer, budget, cancellation, progress);
+                    listener.onApplying(applier);
+                    return applier.apply(placer.drainBatches())
+                            .thenApply(applied -> generated.withWriteStats(
+                                    placer.getBlockCount(), placer.getEffectiveBlockCount()));
+                });
+    }
+
+    /**
+     * Generates several structures into one shared stage, so writes from
+     * different structures landing in the same chunk are merged, then
+     * applies the stage in a single budgeted pass. Each generation sees its
+     * own counting view of the stage and reports its own block count.
+     * If any generation fails, nothing is applied.
+     */
+    public CompletableFuture<BatchResult> runAll(List<Function<BlockPlacer, StructureResult>> generations,
+                                                 Executor worldExecutor, ChunkWriter writer,
+                                                 ApplyBudget budget) {
+        return runAll(generations, worldExecutor, writer, budget, BuildListener.NONE, CancellationToken.NONE);
+    }
+
+    /**
+     * Same as {@link #runAll(List, Executor, ChunkWriter, ApplyBudget)},
+     * reporting phases and progress like {@link #run} does.
+     */
+    public CompletableFuture<BatchResult> runAll(List<Function<BlockPlacer, StructureResult>> generations,
+                                                 Executor worldExecutor, ChunkWriter writer,
+                                                 ApplyBudget budget, BuildListener listener,
+                                                 CancellationToken cancellation) {
+        var progress = new BuildProgress();
+        var placer = new ChunkBatchingBlockPlacer(writer.getRegistry(), cancellation, progress);
+        return CompletableFuture.supplyAsync(() -> {
+                    listener.onGenerating(progress);
+                    List<StructureResult> entries = new ArrayList<>(generations.size());
+                    for (Function<BlockPlacer, StructureResult> generation : generations) {
+                        entries.add(generation.apply(new CountingBlockPlacer(placer)));
+                    }
+                    return entries;
+                }, generationExecutor)
+                .thenCompose(entries -> {
+                    var applier = new TickBudgetedApplier(worldExecutor, writer, budget, cancellation, progress);
+                    listener.onApplying(applier);
+                    return applier.apply(placer.drainBatches())
+                            .thenApply(applied -> new BatchResult(List.copyOf(entries),
+                                    StructureResult.combine("batch", entries).withWriteStats(
+                                            placer.getBlockCount(), placer.getEffectiveBlockCount())));
+                });
+    }
+
+    /**
+     * Stages every tile of {@code generation} in parallel on the tile pool,
+     * each into its own {@link ChunkBatchingBlockPlacer}, and applies the
+     * tiles' batches in tile order, each tile as soon as it and every tile
+     * before it are staged. Tiles never share a chunk, so their batches apply
+     * unchanged. Cancelling stops staging at the next chunk of every tile
+     * still running, and so does the first tile that fails.
+     */
+    public CompletableFuture<StructureResult> runTiled(TiledGeneration generation, Executor worldExecutor,
+                                                       ChunkWriter writer, ApplyBudget budget,
+                                                       BuildListener listener, CancellationToken cancellation) {
+        return runTiled(generation, worldExecutor, writer, budget, listener, cancellation, tile -> {});
+    }
+
+    /**
+     * Same as {@link #runTiled(TiledGeneration, Executor, ChunkWriter,
+     * ApplyBudget, BuildListener, CancellationToken)}, calling
+     * {@code tileApplied} once each tile has been fully written. Calls come
+     * in tile order, one at a time, on the generation executor rather than
+     * the world thread, and the returned future completes after the last one.
+     */
+    public CompletableFuture<StructureResult> runTiled(TiledGeneration generation, Executor worldExecutor,
+                                                       ChunkWriter writer, ApplyBudget budget,
+                                                       BuildListener listener, CancellationToken cancellation,
+                                                       Consumer<Tile> tileApplied) {
+        var progress = new BuildProgress();
+        // Cancelled by the caller or by the first failing tile
+        CancellationToken tileCancellation = cancellation.child();
+        var applier = new TickBudgetedApplier(worldExecutor, writer, budget, tileCancellation, progress);
+        var stage = new TiledStage(generation, writer, tileCancellation, progress,
+                () -> listener.onApplying(applier), tileApplied);
+        CompletableFuture<Long> applied = applier.apply(stage.feed, stage::batchApplied);
+        generationExecutor.execute(() -> {
+            try {
+                listener.onGenerating(progress);
+                progress.expect(stage.tiles.stream().mapToLong(generation::getExpectedBlocks).sum());
+                stage.start();
+            } catch (Throwable t) {
+                stage.fail(t);
+            }
+        });
+        return applied
+                .handle((blocks, error) -> stage.getFailure(error))
+                .thenCompose(error -> error != null ? CompletableFuture.<Void>failedFuture(error) : stage.callbacks())
+                .thenApply(done -> stage.toResult());
+    }
+
+    /**
+     * Collects tiles as they finish staging, in any order, and offers their
+     * batches to the applier in tile order. Called from the tile pool and,
+     * for applied batches, from the world thread.
+     */
+    private final class TiledStage {
+
+        final List<Tile> tiles;
+        final BatchFeed feed = new BatchFeed();
+        private final TiledGeneration generation;
+        private final ChunkWriter writer;
+        private final CancellationToken cancellation;
+        private final BuildProgress progress;
+        private final Runnable onApplying;
+        private final Consumer<Tile> tileApplied;
+        private final long start = System.currentTimeMillis();
+
+        // Guarded by this. Staged tiles wait in their slot until every earlier one is staged
+        private final ChunkBatchingBlockPlacer[] waiting;
+        // Index in the feed of each released tile's last batch; a tile that staged nothing ends with the one before
+        private final int[] tileEnds;
+        private int released;
+        private int reported;
+        private int appliedThrough = -1;
+        private int batches;
+        private long volume;
+        private long blocks;
+        private long effectiveBlocks;
+        private long elapsedMs;
+        private boolean applying;
+        private Throwable failure;
+        // Chained so callbacks run in order and the build ends after the last one
+        private CompletableFuture<Void> callbacks = CompletableFuture.completedFuture(null);
+
+        TiledStage(TiledGeneration generation, ChunkWriter writer, CancellationToken cancellation,
+                   BuildProgress progress, Runnable onApplying, Consumer<Tile> tileApplied) {
+            this.generation = generation;
+            this.tiles = generation.getTiles();
+            this.writer = writer;
+            this.cancellation = cancellation;
+            this.progress = progress;
+            this.onApplying = onApplying;
+            this.tileApplied = tileApplied;
+            this.waiting = new ChunkBatchingBlockPlacer[tiles.size()];
+            this.tileEnds = new int[tiles.size()];
+        }
+
+        void start() {
+            for (int i = 0; i < tiles.size(); i++) {
+                int position = i;
+                tilePool.execute(() -> stageTile(position));
+            }
+            if (tiles.isEmpty()) {
+                synchronized (this) {
+                    release();
+                }
+            }
+        }
+
+        private void stageTile(int position) {
+            try {
+                // Tiles queued behind a failure stop before generating anything
+                cancellation.throwIfCancelled();
+                var placer = new ChunkBatchingBlockPlacer(writer.getRegistry(), cancellation, new BuildProgress());
+                generation.generateTile(tiles.get(position), placer);
+                tileStaged(position, placer);
+            } catch (Throwable t) {
+                fail(t);
+            }
+        }
+
+        private synchronized void tileStaged(int position, ChunkBatchingBlockPlacer placer) {
+            if (failure != null) return;
+            waiting[position] = placer;
+            blocks += placer.getBlockCount();
+            effectiveBlocks += placer.getEffectiveBlockCount();
+            // Published under the lock so concurrent tiles never move it backwards
+            progress.staged(blocks);
+            release();
+        }
+
+        // Offers every staged tile whose predecessors have all been offered
+        private void release() {
+            while (released < tiles.size() && waiting[released] != null) {
+                List<ChunkBatch> drained = waiting[released].drainBatches();
+                waiting[released] = null;
+                batches += drained.size();
+                for (ChunkBatch batch : drained) {
+                    volume += batch.getVolume();
+                }
+                tileEnds[released++] = batches - 1;
+                startApplying();
+                progress.moreToApply(drained.size());
+                feed.offer(drained);
+            }
+            reportApplied();
+            if (released == tiles.size()) {
+                startApplying();
+                elapsedMs = System.currentTimeMillis() - start;
+                progress.stagingDone(batches, volume);
+                feed.close();
+            }
+        }
+
+        private void startApplying() {
+            if (!applying) {
+                applying = true;
+                onApplying.run();
+            }
+        }
+
+        synchronized void batchApplied(int batch) {
+            appliedThrough = batch;
+            reportApplied();
+        }
+
+        private void reportApplied() {
+            while (reported < released && tileEnds[reported] <= appliedThrough) {
+                Tile tile = tiles.get(reported++);
+                callbacks = callbacks.thenRunAsync(() -> tileApplied.accept(tile), generationExecutor);
+            }
+        }
+
+        synchronized void fail(Throwable t) {
+            if (failure == null) {
+                failure = t;
+                cancellation.cancel();
+                feed.close();
+            }
+        }
+
+        synchronized Throwable getFailure(Throwable applyError) {
+            return failure != null ? failure : applyError;
+        }
+
+        synchronized CompletableFuture<Void> callbacks() {
+            return callbacks;
+        }
+
+        synchronized StructureResult toResult() {
+            return generation.toResult(blocks, elapsedMs).withWriteStats(blocks, effectiveBlocks);
+        }
+    }
+
+    private static ExecutorService createGenerationPool() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "StructureBuilder-Generate-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static ForkJoinPool createTilePool() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger counter = new AtomicInteger();
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("StructureBuilder-Tile-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, null, false);
+    }
+}
@@ -0,0 +1,13 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+/**
+ * Thrown when a build cannot be admitted because the concurrency limit is
+ * reached and the wait queue (overall or for the client) is full, or
+ * because its idempotency key was already used for another request.
+ */
+public class BuildRejectedException extends RuntimeException {
+
+    public BuildRejectedException(String message) {
+        super(message);
+    }
+}
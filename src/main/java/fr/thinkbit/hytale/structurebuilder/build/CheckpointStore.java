@@ -0,0 +1,106 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@link TileCheckpoint}s as one small JSON file each in a directory,
+ * so they outlive the server. Files are replaced atomically: a crash while
+ * saving leaves the previous checkpoint, never a torn one.
+ */
+public class CheckpointStore {
+
+    private static final String SUFFIX = ".json";
+    // Checkpoint IDs are job IDs; anything else must not become a path
+    private static final Pattern ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    private final Path directory;
+
+    public CheckpointStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public synchronized void save(TileCheckpoint checkpoint) {
+        try {
+            Files.createDirectories(directory);
+            Path target = file(checkpoint.getId());
+            Path temp = directory.resolve(checkpoint.getId() + ".tmp");
+            Files.writeString(temp, checkpoint.toJson().toString(), StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save checkpoint " + checkpoint.getId(), e);
+        }
+    }
+
+    /**
+     * The checkpoint saved under {@code id}, or null if there is none.
+     *
+     * @throws IllegalArgumentException if {@code id} is not a valid checkpoint ID
+     */
+    public synchronized TileCheckpoint load(String id) {
+        Path file = file(id);
+        if (!Files.exists(file)) return null;
+        return read(file);
+    }
+
+    /** Every saved checkpoint, most recently updated first. Unreadable files are skipped. */
+    public synchronized List<TileCheckpoint> list() {
+        List<TileCheckpoint> checkpoints = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return checkpoints;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    checkpoints.add(read(file));
+                } catch (IllegalArgumentException | UncheckedIOException e) {
+                    // Leave it for an operator to look at; it cannot be resumed
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list checkpoints in " + directory, e);
+        }
+        checkpoints.sort(Comparator.comparingLong(TileCheckpoint::getUpdatedAt).reversed());
+        return checkpoints;
+    }
+
+    public synchronized void delete(String id) {
+        try {
+            Files.deleteIfExists(file(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete checkpoint " + id, e);
+        }
+    }
+
+    private Path file(String id) {
+        if (id == null || !ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Invalid checkpoint ID: " + id);
+        }
+        return directory.resolve(id + SUFFIX);
+    }
+
+    private static TileCheckpoint read(Path file) {
+        try {
+            return TileCheckpoint.fromJson(JsonParser.parseString(
+                    Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read checkpoint " + file, e);
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IllegalArgumentException("Malformed checkpoint " + file, e);
+        }
+    }
+}
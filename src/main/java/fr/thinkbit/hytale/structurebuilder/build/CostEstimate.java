@@ -0,0 +1,33 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import com.google.gson.JsonObject;
+import fr.thinkbit.hytale.structurebuilder.generator.DryRunBlockPlacer;
+
+/**
+ * Projected cost of applying a build, from a dry run of its generator.
+ * The apply projection assumes every tick writes the full block budget, so
+ * it is a lower bound: a tick that hits its time budget first writes less.
+ */
+public record CostEstimate(long blocks, long expectedBlocks, int chunks, long ticks, long applyMs) {
+
+    // Server ticks run at 30 per second
+    public static final long TICK_MILLIS = 1000 / 30;
+
+    public static CostEstimate of(DryRunBlockPlacer placer, ApplyBudget budget) {
+        long blocks = placer.getWrites();
+        long ticks = (blocks + budget.maxBlocksPerTick() - 1) / budget.maxBlocksPerTick();
+        return new CostEstimate(blocks, placer.getExpected(), placer.getChunkCount(), ticks, ticks * TICK_MILLIS);
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("blocks", blocks);
+        if (expectedBlocks >= 0) {
+            json.addProperty("expectedBlocks", expectedBlocks);
+        }
+        json.addProperty("chunks", chunks);
+        json.addProperty("ticks", ticks);
+        json.addProperty("applyMs", applyMs);
+        return json;
+    }
+}
@@ -0,0 +1,64 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Recent jobs by idempotency key, so a retried request gets the job it
+ * already started instead of building again. Each entry also keeps a
+ * description of the request, so a key reused for another request can be
+ * told apart from a retry. Jobs still running never
+ * expire; finished ones are forgotten {@code ttlMs} after they ended, and
+ * failed or cancelled ones right away so a retry can run them again.
+ * Beyond {@code maxEntries} the oldest keys are dropped first.
+ * Not thread-safe: the owning {@link BuildJobManager} guards it.
+ */
+final class IdempotencyCache {
+
+    record Entry(BuildJob job, String request, long storedAt) {}
+
+    private final int maxEntries;
+    private final long ttlMs;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    IdempotencyCache(int maxEntries, long ttlMs, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+    }
+
+    /**
+     * The live or successfully completed job stored under {@code key}, with
+     * the request that started it, or null.
+     */
+    Entry find(String key) {
+        expire();
+        return entries.get(key);
+    }
+
+    void put(String key, String request, BuildJob job) {
+        entries.put(key, new Entry(job, request, clock.getAsLong()));
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void expire() {
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> {
+            BuildJob job = entry.job();
+            if (!job.isDone()) return false;
+            if (job.getState() != BuildJob.State.COMPLETED) return true;
+            return now - Math.max(entry.storedAt(), job.getFinishedAt()) >= ttlMs;
+        });
+    }
+}
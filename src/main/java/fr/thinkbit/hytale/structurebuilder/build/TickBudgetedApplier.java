@@ -0,0 +1,219 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import fr.thinkbit.hytale.structurebuilder.generator.BuildProgress;
+import fr.thinkbit.hytale.structurebuilder.generator.CancellationToken;
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkBatch;
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkWriter;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+
+/**
+ * Applies staged chunk batches on the world thread in budgeted slices.
+ * Each slice writes until the {@link ApplyBudget} is used up, then
+ * re-queues itself on the world executor so the tick can complete before
+ * the next slice runs. Large builds therefore take more ticks instead of
+ * stalling a single one.
+ * <p>
+ * A cancelled {@link CancellationToken} stops the run before the next slice;
+ * the future then fails with a {@link CancellationException} and
+ * {@link #getBlocksApplied()} tells how much had been written.
+ * Applied blocks and completed chunks are published to a {@link BuildProgress}
+ * after every slice, along with how long the slice waited in the world's
+ * queue and how long it ran.
+ */
+public class TickBudgetedApplier {
+
+    // Check the clock every SLICE blocks (or fill layer) rather than after each block
+    private static final int SLICE = 256;
+
+    private final Executor worldExecutor;
+    private final ChunkWriter writer;
+    private final ApplyBudget budget;
+    private final CancellationToken cancellation;
+    private final BuildProgress progress;
+
+    private volatile long blocksApplied;
+    private volatile int ticks;
+
+    public TickBudgetedApplier(Executor worldExecutor, ChunkWriter writer, ApplyBudget budget) {
+        this(worldExecutor, writer, budget, CancellationToken.NONE, new BuildProgress());
+    }
+
+    public TickBudgetedApplier(Executor worldExecutor, ChunkWriter writer, ApplyBudget budget,
+                               CancellationToken cancellation, BuildProgress progress) {
+        this.worldExecutor = worldExecutor;
+        this.writer = writer;
+        this.budget = budget;
+        this.cancellation = cancellation;
+        this.progress = progress;
+    }
+
+    public BuildProgress getProgress() {
+        return progress;
+    }
+
+    public long getBlocksApplied() {
+        return blocksApplied;
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Starts applying the batches and returns a future completed with the
+     * number of blocks written once the last slice has run.
+     */
+    public CompletableFuture<Long> apply(List<ChunkBatch> batches) {
+        return apply(batches, batch -> {});
+    }
+
+    /**
+     * Same as {@link #apply(List)}, calling {@code batchApplied} on the world
+     * thread with the index of each batch as soon as it is fully written.
+     */
+    public CompletableFuture<Long> apply(List<ChunkBatch> batches, IntConsumer batchApplied) {
+        long total = 0;
+        for (ChunkBatch batch : batches) {
+            total += batch.getVolume();
+        }
+        progress.startApplying(batches.size(), total);
+        return apply(BatchFeed.of(batches), batchApplied);
+    }
+
+    /**
+     * Applies batches as they are offered to {@code feed}, idling between
+     * offers, and completes once the feed is closed and every batch in it is
+     * written. Batch indices are positions in the feed. Whoever feeds it
+     * reports the totals to the progress.
+     */
+    public CompletableFuture<Long> apply(BatchFeed feed, IntConsumer batchApplied) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        new Run(feed, batchApplied, future).resume();
+        return future;
+    }
+
+    private final class Run implements Runnable {
+        private final BatchFeed feed;
+        private final IntConsumer batchApplied;
+        private final CompletableFuture<Long> future;
+        // Cursor: current batch, then its fills layer by layer (column by column
+        // within a layer on small budgets), then its single-block writes
+        private int batchIndex;
+        private int fillIndex;
+        private int fillY = Integer.MIN_VALUE;
+        private int fillColumn;
+        private int offset;
+        private long scheduledAt;
+
+        Run(BatchFeed feed, IntConsumer batchApplied, CompletableFuture<Long> future) {
+            this.feed = feed;
+            this.batchApplied = batchApplied;
+            this.future = future;
+        }
+
+        void schedule() {
+            scheduledAt = System.nanoTime();
+            worldExecutor.execute(this);
+        }
+
+        // Runs again now if batches are waiting, else on the feed's next offer
+        void resume() {
+            if (!feed.park(batchIndex, this::schedule)) {
+                schedule();
+            }
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            try {
+                long deadline = startedAt + budget.maxNanosPerTick();
+                long remaining = budget.maxBlocksPerTick();
+                long applied = blocksApplied;
+
+                while (remaining > 0 && batchIndex < feed.size()) {
+                    if (cancellation.isCancelled()) {
+                        blocksApplied = applied;
+                        ticks++;
+                        progress.sliceRan(startedAt - scheduledAt, System.nanoTime() - startedAt);
+                        future.completeExceptionally(new CancellationException(
+                                "Build cancelled after " + applied + " blocks"));
+                        return;
+                    }
+                    ChunkBatch batch = feed.get(batchIndex);
+                    long written;
+                    if (fillIndex < batch.getFillCount()) {
+                        written = applyFillLayers(batch, remaining);
+                    } else {
+                        int to = (int) Math.min(batch.size(), offset + Math.min(remaining, SLICE));
+                        writer.writeChunk(batch, offset, to);
+                        written = to - offset;
+                        offset = to;
+                        if (offset >= batch.size()) {
+                            progress.chunkCompleted();
+                            batchApplied.accept(batchIndex);
+                            batchIndex++;
+                            fillIndex = 0;
+                            offset = 0;
+                        }
+                    }
+                    remaining -= written;
+                    applied += written;
+                    progress.applied(applied);
+                    if (System.nanoTime() >= deadline) {
+                        break;
+                    }
+                }
+
+                blocksApplied = applied;
+                ticks++;
+                progress.sliceRan(startedAt - scheduledAt, System.nanoTime() - startedAt);
+                if (feed.isDrained(batchIndex)) {
+                    future.complete(applied);
+                } else {
+                    resume();
+                }
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        // Writes whole Y layers of the current fill, or part of one when the
+        // remaining budget is smaller than a layer
+        private long applyFillLayers(ChunkBatch batch, long remaining) {
+            if (fillY == Integer.MIN_VALUE) {
+                fillY = batch.getFillMinY(fillIndex);
+            }
+            int area = batch.getFillLayerArea(fillIndex);
+            int maxY = batch.getFillMaxY(fillIndex);
+            long written;
+            if (fillColumn > 0 || remaining < area) {
+                int to = (int) Math.min(area, fillColumn + Math.min(remaining, SLICE));
+                writer.fillChunkLayer(batch, fillIndex, fillY, fillColumn, to);
+                written = to - fillColumn;
+                fillColumn = to;
+                if (fillColumn < area) {
+                    return written;
+                }
+                fillColumn = 0;
+                fillY++;
+            } else {
+                int layers = (int) Math.max(1, Math.min(remaining, SLICE) / area);
+                int toY = Math.min(maxY, fillY + layers - 1);
+                writer.fillChunk(batch, fillIndex, fillY, toY);
+                written = (long) area * (toY - fillY + 1);
+                fillY = toY + 1;
+            }
+            if (fillY > maxY) {
+                fillIndex++;
+                fillY = Integer.MIN_VALUE;
+            }
+            return written;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import com.google.gson.JsonObject;
+
+/**
+ * What a tiled build writes and how far it got: the generator parameters
+ * needed to plan it again and how many of its tiles, in tile order, are
+ * already in the world. A {@link CheckpointStore} saves it after every tile,
+ * so a build interrupted by a crash or restart resumes from the first
+ * missing tile and loses at most the one it was writing.
+ */
+public final class TileCheckpoint {
+
+    private final String id;
+    private final String structureType;
+    private final JsonObject params;
+    private final boolean skipUnchanged;
+    private final int tileCount;
+    private int completedTiles;
+    private long updatedAt;
+
+    public TileCheckpoint(String id, String structureType, JsonObject params, boolean skipUnchanged, int tileCount) {
+        this(id, structureType, params, skipUnchanged, tileCount, 0, System.currentTimeMillis());
+    }
+
+    private TileCheckpoint(String id, String structureType, JsonObject params, boolean skipUnchanged,
+                           int tileCount, int completedTiles, long updatedAt) {
+        this.id = id;
+        this.structureType = structureType;
+        this.params = params;
+        this.skipUnchanged = skipUnchanged;
+        this.tileCount = tileCount;
+        this.completedTiles = completedTiles;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getId() { return id; }
+    public String getStructureType() { return structureType; }
+    public boolean isSkipUnchanged() { return skipUnchanged; }
+    public int getTileCount() { return tileCount; }
+
+    /** Generator parameters, as bound when the build was first requested. */
+    public JsonObject getParams() {
+        return params.deepCopy();
+    }
+
+    /** Number of leading tiles already written; resuming starts at this index. */
+    public synchronized int getCompletedTiles() {
+        return completedTiles;
+    }
+
+    public synchronized long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** Records that every tile up to and including {@code index} is written. */
+    public synchronized void tileApplied(int index) {
+        completedTiles = Math.max(completedTiles, index + 1);
+        updatedAt = System.currentTimeMillis();
+    }
+
+    public synchronized JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", id);
+        json.addProperty("structureType", structureType);
+        json.add("params", params.deepCopy());
+        json.addProperty("skipUnchanged", skipUnchanged);
+        json.addProperty("tileCount", tileCount);
+        json.addProperty("completedTiles", completedTiles);
+        json.addProperty("updatedAt", updatedAt);
+        return json;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a field is missing
+     */
+    public static TileCheckpoint fromJson(JsonObject json) {
+        try {
+            return new TileCheckpoint(
+                    json.get("id").getAsString(),
+                    json.get("structureType").getAsString(),
+                    json.getAsJsonObject("params").deepCopy(),
+                    json.get("skipUnchanged").getAsBoolean(),
+                    json.get("tileCount").getAsInt(),
+                    json.get("completedTiles").getAsInt(),
+                    json.get("updatedAt").getAsLong());
+        } catch (NullPointerException | ClassCastException | IllegalStateException e) {
+            throw new IllegalArgumentException("Malformed checkpoint: " + json, e);
+        }
+    }
+}
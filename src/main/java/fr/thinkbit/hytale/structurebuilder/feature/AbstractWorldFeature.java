@@ -2,15 +2,46 @@ package fr.thinkbit.hytale.structurebuilder.feature;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
 import com.top_serveurs.hytale.plugins.mcp.auth.McpAuthManager;
 import com.top_serveurs.hytale.plugins.mcp.config.McpConfig;
 import com.top_serveurs.hytale.plugins.mcp.features.McpFeature;
+import com.top_serveurs.hytale.plugins.mcp.features.McpToolSchema;
 import com.top_serveurs.hytale.plugins.mcp.models.McpToolCall;
+import com.top_serveurs.hytale.plugins.mcp.models.McpToolResponse;
+import fr.thinkbit.hytale.structurebuilder.build.ApplyBudget;
+import fr.thinkbit.hytale.structurebuilder.build.BuildJob;
+import fr.thinkbit.hytale.structurebuilder.build.BuildJobManager;
+import fr.thinkbit.hytale.structurebuilder.build.BuildRejectedException;
+import fr.thinkbit.hytale.structurebuilder.build.CostEstimate;
+import fr.thinkbit.hytale.structurebuilder.generator.BlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.generator.DryRunBlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
+import fr.thinkbit.hytale.structurebuilder.generator.WorldBlockRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 public abstract class AbstractWorldFeature implements McpFeature {
 
     protected static final Gson GSON = new GsonBuilder().create();
 
+    // Parameters of runJob itself rather than of the build
+    private static final Set<String> JOB_OPTIONS = Set.of("async", "clientId", "idempotencyKey", "timeoutMs");
+
+    // How long a synchronous build call waits before giving up
+    public static final long DEFAULT_TIMEOUT_MS =
+            Long.getLong("structurebuilder.syncTimeoutMs", 10 * 60 * 1000L);
+
     @Override
     public boolean hasPermission(McpAuthManager.AuthLevel authLevel, McpConfig config) {
         return authLevel == McpAuthManager.AuthLevel.ADMIN;
@@ -29,6 +60,13 @@ public abstract class AbstractWorldFeature implements McpFeature {
         return Integer.parseInt(val.toString());
     }
 
+    protected long getLong(McpToolCall call, String key, long defaultValue) {
+        Object val = call.getArguments().get(key);
+        if (val == null) return defaultValue;
+        if (val instanceof Number) return ((Number) val).longValue();
+        return Long.parseLong(val.toString());
+    }
+
     protected String getString(McpToolCall call, String key) {
         Object val = call.getArguments().get(key);
         return val != null ? val.toString() : null;
@@ -45,4 +83,120 @@ public abstract class AbstractWorldFeature implements McpFeature {
         if (val instanceof Boolean) return (Boolean) val;
         return Boolean.parseBoolean(val.toString());
     }
+
+    protected ApplyBudget getApplyBudget(McpToolCall call) {
+        return ApplyBudget.of(
+                getInt(call, "tickBlockBudget", ApplyBudget.DEFAULT_BLOCKS_PER_TICK),
+                getInt(call, "tickTimeBudgetMs", ApplyBudget.DEFAULT_MILLIS_PER_TICK));
+    }
+
+    /**
+     * Adds the parameters understood by {@link #runJob}.
+     */
+    protected void putJobProperties(Map<String, JsonObject> props) {
+        props.put("async", McpToolSchema.stringProperty(
+                "Return a job ID immediately instead of waiting for the build: true/false (default: false)"));
+        props.put("clientId", McpToolSchema.stringProperty(
+                "Caller identity used to share build slots fairly between clients (default: " +
+                BuildJobManager.DEFAULT_CLIENT + ")"));
+        props.put("idempotencyKey", McpToolSchema.stringProperty(
+                "Unique key for this request. Retrying with the same key returns the original build's " +
+                "job or result instead of building again; reusing it for a different request is an error"));
+        props.put("timeoutMs", McpToolSchema.integerProperty(
+                "Without async, fail the call after this many milliseconds (default: " + DEFAULT_TIMEOUT_MS +
+                "). The build is cancelled, unless idempotencyKey is set: then it keeps running for a retry"));
+    }
+
+    protected void putDryRunProperty(Map<String, JsonObject> props) {
+        props.put("dryRun", McpToolSchema.stringProperty(
+                "Only estimate the build (blocks, chunks, apply time) without touching the world: " +
+                "true/false (default: false)"));
+    }
+
+    /**
+     * Runs the generation against a {@link DryRunBlockPlacer} on the calling
+     * thread and answers with its result plus a {@link CostEstimate}. Nothing
+     * is staged, queued or sent to the world thread.
+     */
+    protected McpToolResponse dryRun(McpToolCall call, Function<BlockPlacer, StructureResult> generation) {
+        var placer = new DryRunBlockPlacer(WorldBlockRegistry.get());
+        JsonObject json = generation.apply(placer).toJson();
+        json.addProperty("dryRun", true);
+        json.add("estimate", CostEstimate.of(placer, getApplyBudget(call)).toJson());
+        return McpToolResponse.success(GSON.toJson(json));
+    }
+
+    protected McpToolResponse runJob(McpToolCall call, String structureType,
+                                     Function<BuildJob, CompletableFuture<StructureResult>> start) throws Exception {
+        return runJob(call, structureType, start, StructureResult::toJson);
+    }
+
+    /**
+     * Runs a build as a tracked job so it can be cancelled by ID. Builds
+     * beyond the concurrency limit wait their turn; when the queue is full
+     * the call is refused with a busy response. With {@code async=true} the
+     * job description is returned immediately; otherwise the call waits up to
+     * {@code timeoutMs} and answers with {@code response} applied to the
+     * result. A build still running at the deadline is cancelled, so nothing
+     * keeps writing after the caller was told it failed, unless the call
+     * carries an {@code idempotencyKey}: that job keeps running, and a retry
+     * with the same key attaches to it instead of building again.
+     */
+    protected McpToolResponse runJob(McpToolCall call, String structureType,
+                                     Function<BuildJob, CompletableFuture<StructureResult>> start,
+                                     Function<StructureResult, JsonObject> response) throws Exception {
+        String idempotencyKey = getString(call, "idempotencyKey");
+        BuildJob job;
+        try {
+            job = BuildJobManager.getDefault().submit(getString(call, "clientId", BuildJobManager.DEFAULT_CLIENT),
+                    idempotencyKey, describeRequest(call.getArguments()), structureType, start);
+        } catch (BuildRejectedException e) {
+            return McpToolResponse.error(e.getMessage());
+        }
+        if (getBool(call, "async", false)) {
+            return McpToolResponse.success(GSON.toJson(job.toJson()));
+        }
+        long timeoutMs = getLong(call, "timeoutMs", DEFAULT_TIMEOUT_MS);
+        try {
+            return McpToolResponse.success(GSON.toJson(response.apply(job.await(timeoutMs))));
+        } catch (TimeoutException e) {
+            return McpToolResponse.error(timedOut(job, idempotencyKey, timeoutMs));
+        } catch (CancellationException e) {
+            return McpToolResponse.error(getName() + " cancelled after " + job.getBlocksPlaced() + " blocks applied");
+        }
+    }
+
+    /**
+     * The tool and a hash of its arguments, leaving out the job options that
+     * do not change what gets built, so a retry matches the original call
+     * and a key reused for another build does not.
+     */
+    String describeRequest(Map<String, Object> arguments) {
+        Map<String, Object> build = new TreeMap<>(arguments);
+        build.keySet().removeAll(JOB_OPTIONS);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(GSON.toJson(build).getBytes(StandardCharsets.UTF_8));
+            return getName() + ':' + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Handles a job still running when its synchronous call gave up after
+     * {@code timeoutMs}, and returns the error to answer with. Unkeyed jobs
+     * are cancelled; keyed ones keep running for a retry to attach to.
+     */
+    String timedOut(BuildJob job, String idempotencyKey, long timeoutMs) {
+        if (idempotencyKey != null) {
+            // The caller can come back for this job; cancelling it would make the retry build again
+            return getName() + " timed out after " + timeoutMs + "ms with " + job.getBlocksPlaced() +
+                    " blocks applied; job " + job.getId() + " is still running. " +
+                    "Retry with the same idempotencyKey or poll build_status";
+        }
+        job.cancel();
+        return getName() + " timed out after " + timeoutMs + "ms with " + job.getBlocksPlaced() +
+                " blocks applied; job " + job.getId() + " cancelled";
+    }
 }
@@ -0,0 +1,61 @@
+package fr.thinkbit.hytale.structurebuilder.feature;
+
+import com.google.gson.JsonObject;
+import com.top_serveurs.hytale.plugins.mcp.auth.McpAuthManager;
+import com.top_serveurs.hytale.plugins.mcp.features.McpToolSchema;
+import com.top_serveurs.hytale.plugins.mcp.models.McpTool;
+import com.top_serveurs.hytale.plugins.mcp.models.McpToolCall;
+import com.top_serveurs.hytale.plugins.mcp.models.McpToolResponse;
+import fr.thinkbit.hytale.structurebuilder.build.BuildJob;
+import fr.thinkbit.hytale.structurebuilder.build.BuildJobManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BuildStatusFeature extends AbstractWorldFeature {
+
+    private final BuildJobManager jobs;
+
+    public BuildStatusFeature() {
+        this(BuildJobManager.getDefault());
+    }
+
+    public BuildStatusFeature(BuildJobManager jobs) {
+        this.jobs = jobs;
+    }
+
+    @Override
+    public String getName() {
+        return "build_status";
+    }
+
+    @Override
+    public McpTool getToolDefinition() {
+        return new McpTool("build_status",
+                "Reports the state of a build job: queued, generating, applying, " +
+                "completed, failed or cancelled, the blocks placed so far, and the final result once completed.",
+                "function");
+    }
+
+    @Override
+    public String getInputSchema() {
+        Map<String, JsonObject> props = new LinkedHashMap<>();
+        props.put("jobId", McpToolSchema.stringProperty("Job ID returned by the async build"));
+
+        return McpToolSchema.schemaWithProperties(props, List.of("jobId"));
+    }
+
+    @Override
+    public McpToolResponse execute(McpToolCall call, McpAuthManager.AuthLevel authLevel) {
+        String jobId = getString(call, "jobId");
+        if (jobId == null) {
+            return McpToolResponse.error("Missing required parameter: jobId");
+        }
+        BuildJob job = jobs.get(jobId);
+        if (job == null) {
+            return McpToolResponse.error("Unknown or expired job: " + jobId);
+        }
+        return McpToolResponse.success(GSON.toJson(job.toJson()));
+    }
+}
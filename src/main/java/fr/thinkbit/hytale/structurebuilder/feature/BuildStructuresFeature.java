@@ -0,0 +1,163 @@
+package fr.thinkbit.hytale.structurebuilder.feature;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import com.top_serveurs.hytale.plugins.mcp.auth.McpAuthManager;
+import com.top_serveurs.hytale.plugins.mcp.features.McpToolSchema;
+import com.top_serveurs.hytale.plugins.mcp.models.McpTool;
+import com.top_serveurs.hytale.plugins.mcp.models.McpToolCall;
+import com.top_serveurs.hytale.plugins.mcp.models.McpToolResponse;
+import fr.thinkbit.hytale.structurebuilder.WorldUtil;
+import fr.thinkbit.hytale.structurebuilder.build.ApplyBudget;
+import fr.thinkbit.hytale.structurebuilder.build.BatchResult;
+import fr.thinkbit.hytale.structurebuilder.build.BuildPipeline;
+import fr.thinkbit.hytale.structurebuilder.generator.BlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.generator.StructureGenerator;
+import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
+import fr.thinkbit.hytale.structurebuilder.generator.WorldBlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
+import fr.thinkbit.hytale.structurebuilder.material.MaterialPresets;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Builds many structures in one call: all entries are generated into one
+ * shared stage and applied to the world in a single pass. Uses the same
+ * generators and parameters as build_structure.
+ */
+public class BuildStructuresFeature extends AbstractWorldFeature {
+
+    public static final int MAX_STRUCTURES = 256;
+
+    private final BuildStructureFeature structures;
+
+    public BuildStructuresFeature(BuildStructureFeature structures) {
+        this.structures = structures;
+    }
+
+    @Override
+    public String getName() {
+        return "build_structures";
+    }
+
+    @Override
+    public McpTool getToolDefinition() {
+        return new McpTool("build_structures",
+                "Builds several structures in one server-side call, e.g. the houses, roads, fences and well " +
+                "of a village. Each entry takes the same parameters as build_structure (type, x, y, z, material, ...). " +
+                "Writes are merged per chunk and applied in one pass. " +
+                "Returns one result per entry plus totals. If any entry is invalid, nothing is built. " +
+                "With async=true only the totals are kept on the job.",
+                "function");
+    }
+
+    @Override
+    public String getInputSchema() {
+        Map<String, JsonObject> props = new LinkedHashMap<>();
+        JsonObject items = new JsonObject();
+        items.addProperty("type", "object");
+        JsonObject list = new JsonObject();
+        list.addProperty("type", "array");
+        list.addProperty("description", "Structure specs, each with the build_structure parameters (max " +
+                MAX_STRUCTURES + ")");
+        list.add("items", items);
+        props.put("structures", list);
+        props.put("skipUnchanged", McpToolSchema.stringProperty(
+                "Only write blocks whose current type differs: true/false (default: false)"));
+        putJobProperties(props);
+        // World-thread budget
+        props.put("tickBlockBudget", McpToolSchema.integerProperty(
+                "Maximum blocks written per server tick (default: " + ApplyBudget.DEFAULT_BLOCKS_PER_TICK + ")"));
+        props.put("tickTimeBudgetMs", McpToolSchema.integerProperty(
+                "Maximum milliseconds of world-thread time per tick (default: " + ApplyBudget.DEFAULT_MILLIS_PER_TICK + ")"));
+
+        return McpToolSchema.schemaWithProperties(props, List.of("structures"));
+    }
+
+    @Override
+    public McpToolResponse execute(McpToolCall call, McpAuthManager.AuthLevel authLevel) {
+        try {
+            List<Map<String, Object>> specs = getSpecs(call);
+            if (specs == null || specs.isEmpty()) {
+                return McpToolResponse.error("Missing required parameter: structures");
+            }
+            if (specs.size() > MAX_STRUCTURES) {
+                return McpToolResponse.error("Too many structures: " + specs.size() + " (max " + MAX_STRUCTURES + ")");
+            }
+
+            // Validate every entry before generating anything
+            List<Function<BlockPlacer, StructureResult>> generations = new ArrayList<>(specs.size());
+            for (int i = 0; i < specs.size(); i++) {
+                Map<String, Object> args = specs.get(i);
+                Object type = args.get("type");
+                if (type == null) {
+                    return McpToolResponse.error("structures[" + i + "]: missing required parameter: type");
+                }
+                StructureGenerator generator = structures.getGenerator(type.toString());
+                if (generator == null) {
+                    return McpToolResponse.error("structures[" + i + "]: unknown structure type: " + type +
+                            ". Available: " + String.join(", ", structures.getStructureTypes()));
+                }
+                Object material = args.getOrDefault("material", "stone_castle");
+                MaterialPalette palette = MaterialPresets.getByName(material.toString());
+                if (palette == null) {
+                    return McpToolResponse.error("structures[" + i + "]: unknown material preset: " + material +
+                            ". Available: " + String.join(", ", MaterialPresets.getAvailablePresets()));
+                }
+                Params params;
+                try {
+                    params = generator.getParams().bind(args);
+                } catch (IllegalArgumentException e) {
+                    return McpToolResponse.error("structures[" + i + "]: " + e.getMessage());
+                }
+                generations.add(placer -> generator.generate(params, palette, placer));
+            }
+
+            var world = WorldUtil.getDefaultWorld();
+            var writer = new WorldBlockPlacer(world, getBool(call, "skipUnchanged", false));
+            ApplyBudget budget = getApplyBudget(call);
+
+            // The job result is the batch totals; the per-entry results are kept for the synchronous reply.
+            // A retry attached to an earlier job through its idempotency key only has the totals.
+            AtomicReference<BatchResult> batch = new AtomicReference<>();
+            return runJob(call, "batch", job -> BuildPipeline.getDefault()
+                    .runAll(generations, world::execute, writer, budget, job, job.getCancellationToken())
+                    .thenApply(result -> {
+                        BatchResult applied = result.withApplyStats(writer.getBlockCount(), writer.getSkippedCount());
+                        batch.set(applied);
+                        return applied.totals();
+                    }), totals -> batch.get() != null ? batch.get().toJson() : totals.toJson());
+        } catch (Exception e) {
+            return McpToolResponse.error("build_structures failed: " + e.getMessage());
+        }
+    }
+
+    // Clients send the list either as a JSON array or as a JSON-encoded string
+    private List<Map<String, Object>> getSpecs(McpToolCall call) {
+        Object val = call.getArguments().get("structures");
+        if (val == null) return null;
+        if (val instanceof String json) {
+            return GSON.fromJson(json, new TypeToken<List<Map<String, Object>>>() {}.getType());
+        }
+        if (val instanceof JsonArray array) {
+            return GSON.fromJson(array, new TypeToken<List<Map<String, Object>>>() {}.getType());
+        }
+        if (!(val instanceof List<?> list)) {
+            throw new IllegalArgumentException("structures must be an array of objects");
+        }
+        List<Map<String, Object>> specs = new ArrayList<>(list.size());
+        for (Object entry : list) {
+            if (!(entry instanceof Map<?, ?> map)) {
+                throw new IllegalArgumentException("structures must be an array of objects");
+            }
+            Map<String, Object> args = new HashMap<>();
+            map.forEach((k, v) -> args.put(k.toString(), v));
+            specs.add(args);
+        }
+        return specs;
+    }
+}
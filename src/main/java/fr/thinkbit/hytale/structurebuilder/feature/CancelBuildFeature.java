@@ -0,0 +1,61 @@
+package fr.thinkbit.hytale.structurebuilder.feature;
+
+import com.google.gson.JsonObject;
+import com.top_serveurs.hytale.plugins.mcp.auth.McpAuthManager;
+import com.top_serveurs.hytale.plugins.mcp.features.McpToolSchema;
+import com.top_serveurs.hytale.plugins.mcp.models.McpTool;
+import com.top_serveurs.hytale.plugins.mcp.models.McpToolCall;
+import com.top_serveurs.hytale.plugins.mcp.models.McpToolResponse;
+import fr.thinkbit.hytale.structurebuilder.build.BuildJob;
+import fr.thinkbit.hytale.structurebuilder.build.BuildJobManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CancelBuildFeature extends AbstractWorldFeature {
+
+    private final BuildJobManager jobs;
+
+    public CancelBuildFeature() {
+        this(BuildJobManager.getDefault());
+    }
+
+    public CancelBuildFeature(BuildJobManager jobs) {
+        this.jobs = jobs;
+    }
+
+    @Override
+    public String getName() {
+        return "cancel_build";
+    }
+
+    @Override
+    public McpTool getToolDefinition() {
+        return new McpTool("cancel_build",
+                "Cancels a queued or running build job. A queued job ends at once; a running one stops at its next chunk " +
+                "or tick slice; blocks already written stay in place. Poll build_status for the final count.",
+                "function");
+    }
+
+    @Override
+    public String getInputSchema() {
+        Map<String, JsonObject> props = new LinkedHashMap<>();
+        props.put("jobId", McpToolSchema.stringProperty("Job ID of the build to cancel"));
+
+        return McpToolSchema.schemaWithProperties(props, List.of("jobId"));
+    }
+
+    @Override
+    public McpToolResponse execute(McpToolCall call, McpAuthManager.AuthLevel authLevel) {
+        String jobId = getString(call, "jobId");
+        if (jobId == null) {
+            return McpToolResponse.error("Missing required parameter: jobId");
+        }
+        BuildJob job = jobs.cancel(jobId);
+        if (job == null) {
+            return McpToolResponse.error("Unknown or expired job: " + jobId);
+        }
+        return McpToolResponse.success(GSON.toJson(job.toJson()));
+    }
+}
@@ -1,24 +1,65 @@
 package fr.thinkbit.hytale.structurebuilder.feature;
 
 import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.top_serveurs.hytale.plugins.mcp.auth.McpAuthManager;
 import com.top_serveurs.hytale.plugins.mcp.features.McpToolSchema;
 import com.top_serveurs.hytale.plugins.mcp.models.McpTool;
 import com.top_serveurs.hytale.plugins.mcp.models.McpToolCall;
 import com.top_serveurs.hytale.plugins.mcp.models.McpToolResponse;
+import fr.thinkbit.hytale.structurebuilder.FlatTerrainSystem;
 import fr.thinkbit.hytale.structurebuilder.WorldUtil;
+import fr.thinkbit.hytale.structurebuilder.build.ApplyBudget;
+import fr.thinkbit.hytale.structurebuilder.build.BuildJob;
+import fr.thinkbit.hytale.structurebuilder.build.BuildPipeline;
+import fr.thinkbit.hytale.structurebuilder.build.CheckpointStore;
+import fr.thinkbit.hytale.structurebuilder.build.TileCheckpoint;
+import fr.thinkbit.hytale.structurebuilder.generator.FlatRegion;
 import fr.thinkbit.hytale.structurebuilder.generator.FlatWorldGenerator;
 import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
+import fr.thinkbit.hytale.structurebuilder.generator.TiledGeneration;
 import fr.thinkbit.hytale.structurebuilder.generator.WorldBlockPlacer;
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPresets;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CreateFlatWorldFeature extends AbstractWorldFeature {
 
     private final FlatWorldGenerator generator = new FlatWorldGenerator();
+    private final CheckpointStore checkpoints;
+    private final FlatTerrainSystem flatTerrain;
+    // Checkpoints a job is currently writing, so one cannot be resumed twice
+    private final Set<String> activeCheckpoints = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Flat worlds without checkpoints or lazy regions; an interrupted build
+     * must be requested again.
+     */
+    public CreateFlatWorldFeature() {
+        this(null, null);
+    }
+
+    /**
+     * Flat worlds whose parallel builds save a {@link TileCheckpoint} to
+     * {@code checkpoints} after every tile, for resume_flat_world, and whose
+     * lazy requests are registered with {@code flatTerrain}.
+     */
+    public CreateFlatWorldFeature(CheckpointStore checkpoints, FlatTerrainSystem flatTerrain) {
+        this.checkpoints = checkpoints;
+        this.flatTerrain = flatTerrain;
+    }
+
+    public CheckpointStore getCheckpoints() {
+        return checkpoints;
+    }
 
     @Override
     public String getName() {
@@ -31,47 +72,136 @@ public class CreateFlatWorldFeature extends AbstractWorldFeature {
                 "Creates a flat world area with no buildings, structures, trees, or NPCs. " +
                 "Generates proper terrain layers (stone, dirt, surface) and clears everything above. " +
                 "Use this to prepare a clean canvas for building. " +
-                "Warning: this replaces ALL existing terrain and structures in the area.",
+                "Warning: this replaces ALL existing terrain and structures in the area. " +
+                "Set async=true to return a job ID immediately; stop a running job with cancel_build. " +
+                "Parallel builds are checkpointed tile by tile: if one is interrupted, even by a restart, " +
+                "continue it with resume_flat_world and its job ID. " +
+                "With lazy=true nothing is written now: the area is registered and each chunk is generated flat " +
+                "the first time it loads. Lazy mode only affects chunks that have never been generated.",
                 "function");
     }
 
     @Override
     public String getInputSchema() {
         Map<String, JsonObject> props = new LinkedHashMap<>();
-        props.put("x", McpToolSchema.integerProperty("Center X coordinate"));
-        props.put("z", McpToolSchema.integerProperty("Center Z coordinate"));
-        props.put("radius", McpToolSchema.integerProperty(
-                "Half-size of the area (default: 100). Area will be (2*radius+1) x (2*radius+1)"));
-        props.put("surfaceY", McpToolSchema.integerProperty(
-                "Height of the surface layer (default: 64)"));
-        props.put("depth", McpToolSchema.integerProperty(
-                "Depth of terrain fill below surface (default: 10)"));
-        props.put("clearHeight", McpToolSchema.integerProperty(
-                "Height above surface to clear (default: 60)"));
-        props.put("surfaceBlock", McpToolSchema.stringProperty(
-                "Block type for surface (default: Soil_Dirt)"));
-        props.put("dirtBlock", McpToolSchema.stringProperty(
-                "Block type for sub-surface dirt layer (default: Soil_Dirt)"));
-        props.put("stoneBlock", McpToolSchema.stringProperty(
-                "Block type for deep stone layer (default: Rock_Stone_Cobble)"));
-
-        return McpToolSchema.schemaWithProperties(props, List.of("x", "z"));
+        ParamSchema.putAll(props, generator.getParams());
+        props.put("skipUnchanged", McpToolSchema.stringProperty(
+                "Only write blocks whose current type differs: true/false (default: true)"));
+        props.put("lazy", McpToolSchema.stringProperty(
+                "Register the area instead of writing it; chunks are generated flat when first loaded: " +
+                "true/false (default: false)"));
+        props.put("parallel", McpToolSchema.stringProperty(
+                "Stage the area as chunk-aligned tiles on all cores: true/false (default: true)"));
+        putDryRunProperty(props);
+        putJobProperties(props);
+        // World-thread budget
+        props.put("tickBlockBudget", McpToolSchema.integerProperty(
+                "Maximum blocks written per server tick (default: " + ApplyBudget.DEFAULT_BLOCKS_PER_TICK + ")"));
+        props.put("tickTimeBudgetMs", McpToolSchema.integerProperty(
+                "Maximum milliseconds of world-thread time per tick (default: " + ApplyBudget.DEFAULT_MILLIS_PER_TICK + ")"));
+
+        return McpToolSchema.schemaWithProperties(props, ParamSchema.required(generator.getParams()));
     }
 
     @Override
     public McpToolResponse execute(McpToolCall call, McpAuthManager.AuthLevel authLevel) {
         try {
-            Map<String, Object> args = call.getArguments();
+            // Bind and validate here, before any generation or world time is spent
+            Params params = generator.getParams().bind(call.getArguments());
+            if (getBool(call, "dryRun", false)) {
+                return dryRun(call, placer -> generator.generate(params, MaterialPresets.getDefault(), placer));
+            }
 
             var world = WorldUtil.getDefaultWorld();
-            var placer = new WorldBlockPlacer(world);
-
-            StructureResult result = WorldUtil.executeOnWorldThread(world,
-                    () -> generator.generate(args, MaterialPresets.getDefault(), placer)).get();
+            if (getBool(call, "lazy", false)) {
+                return registerLazy(world.getName(), params);
+            }
+            boolean skipUnchanged = getBool(call, "skipUnchanged", true);
+            var writer = new WorldBlockPlacer(world, skipUnchanged);
+            ApplyBudget budget = getApplyBudget(call);
 
-            return McpToolResponse.success(GSON.toJson(result.toJson()));
+            // Generate on the worker pool, then apply over as many ticks as the budget requires
+            if (getBool(call, "parallel", true)) {
+                FlatWorldGenerator.Plan plan = generator.plan(params);
+                JsonObject bound = new JsonObject();
+                for (Param<?> param : generator.getParams().getParams()) {
+                    bound.add(param.getName(), GSON.toJsonTree(params.get(param)));
+                }
+                return runJob(call, generator.getType(), job -> runTiled(new TileCheckpoint(job.getId(),
+                        generator.getType(), bound, skipUnchanged, plan.getTiles().size()),
+                        plan, world, writer, budget, job));
+            }
+            return runJob(call, generator.getType(), job -> BuildPipeline.getDefault()
+                    .run(placer -> generator.generate(params, MaterialPresets.getDefault(), placer),
+                            world::execute, writer, budget, job, job.getCancellationToken())
+                    .thenApply(result -> result.withApplyStats(writer.getBlockCount(), writer.getSkippedCount())));
         } catch (Exception e) {
             return McpToolResponse.error("create_flat_world failed: " + e.getMessage());
         }
     }
+
+    // O(1) at request time: the chunk-generation hook does the writing
+    private McpToolResponse registerLazy(String worldName, Params params) {
+        if (flatTerrain == null) {
+            return McpToolResponse.error("Lazy flat worlds are not enabled on this server");
+        }
+        FlatRegion region = FlatRegion.of(UUID.randomUUID().toString(), worldName, generator.plan(params));
+        flatTerrain.add(region);
+        JsonObject json = new JsonObject();
+        json.addProperty("status", "success");
+        json.addProperty("structureType", generator.getType());
+        json.addProperty("lazy", true);
+        json.addProperty("blocksPlaced", 0);
+        json.add("region", region.toJson());
+        return McpToolResponse.success(GSON.toJson(json));
+    }
+
+    /**
+     * Continues the build recorded in {@code checkpoint} from its first
+     * missing tile, as a new job.
+     */
+    McpToolResponse resume(McpToolCall call, TileCheckpoint checkpoint) throws Exception {
+        Map<String, Object> args = GSON.fromJson(checkpoint.getParams(), new TypeToken<Map<String, Object>>() {}.getType());
+        FlatWorldGenerator.Plan plan = generator.plan(generator.getParams().bind(args));
+        if (plan.getTiles().size() != checkpoint.getTileCount()) {
+            return McpToolResponse.error("Checkpoint " + checkpoint.getId() + " has " + checkpoint.getTileCount() +
+                    " tiles but its area now splits into " + plan.getTiles().size() + "; request it again instead");
+        }
+        var world = WorldUtil.getDefaultWorld();
+        var writer = new WorldBlockPlacer(world, checkpoint.isSkipUnchanged());
+        ApplyBudget budget = getApplyBudget(call);
+        return runJob(call, generator.getType(), job -> runTiled(checkpoint, plan, world, writer, budget, job));
+    }
+
+    // Applies the tiles the checkpoint does not have yet, saving it after each one and
+    // deleting it once the area is complete. A failed or cancelled build keeps it.
+    private CompletableFuture<StructureResult> runTiled(TileCheckpoint checkpoint, TiledGeneration plan, World world,
+                                                        WorldBlockPlacer writer, ApplyBudget budget, BuildJob job) {
+        if (checkpoints == null) {
+            return BuildPipeline.getDefault()
+                    .runTiled(plan, world::execute, writer, budget, job, job.getCancellationToken())
+                    .thenApply(result -> result.withApplyStats(writer.getBlockCount(), writer.getSkippedCount()));
+        }
+        if (!activeCheckpoints.add(checkpoint.getId())) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Checkpoint " + checkpoint.getId() + " is already being resumed"));
+        }
+        try {
+            checkpoints.save(checkpoint);
+        } catch (RuntimeException e) {
+            activeCheckpoints.remove(checkpoint.getId());
+            return CompletableFuture.failedFuture(e);
+        }
+        return BuildPipeline.getDefault()
+                .runTiled(plan.from(checkpoint.getCompletedTiles()), world::execute, writer, budget,
+                        job, job.getCancellationToken(), tile -> {
+                            checkpoint.tileApplied(tile.index());
+                            checkpoints.save(checkpoint);
+                        })
+                .thenApply(result -> {
+                    checkpoints.delete(checkpoint.getId());
+                    return result.withApplyStats(writer.getBlockCount(), writer.getSkippedCount());
+                })
+                .whenComplete((result, error) -> activeCheckpoints.remove(checkpoint.getId()));
+    }
 }
@@ -0,0 +1,68 @@
+package fr.thinkbit.hytale.structurebuilder.feature;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.top_serveurs.hytale.plugins.mcp.auth.McpAuthManager;
+import com.top_serveurs.hytale.plugins.mcp.features.McpToolSchema;
+import com.top_serveurs.hytale.plugins.mcp.models.McpTool;
+import com.top_serveurs.hytale.plugins.mcp.models.McpToolCall;
+import com.top_serveurs.hytale.plugins.mcp.models.McpToolResponse;
+import fr.thinkbit.hytale.structurebuilder.FlatTerrainSystem;
+import fr.thinkbit.hytale.structurebuilder.generator.FlatRegion;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lists the lazy flat regions registered by create_flat_world, and removes
+ * one so chunks generated from then on get natural terrain again.
+ */
+public class FlatRegionsFeature extends AbstractWorldFeature {
+
+    private final FlatTerrainSystem flatTerrain;
+
+    public FlatRegionsFeature(FlatTerrainSystem flatTerrain) {
+        this.flatTerrain = flatTerrain;
+    }
+
+    @Override
+    public String getName() {
+        return "flat_regions";
+    }
+
+    @Override
+    public McpTool getToolDefinition() {
+        return new McpTool("flat_regions",
+                "Lists the areas registered with create_flat_world lazy=true, whose chunks are generated flat when " +
+                "first loaded. Pass removeId to unregister one; chunks already generated keep their terrain.",
+                "function");
+    }
+
+    @Override
+    public String getInputSchema() {
+        Map<String, JsonObject> props = new LinkedHashMap<>();
+        props.put("removeId", McpToolSchema.stringProperty("ID of the region to unregister; omit to only list"));
+
+        return McpToolSchema.schemaWithProperties(props, List.of());
+    }
+
+    @Override
+    public McpToolResponse execute(McpToolCall call, McpAuthManager.AuthLevel authLevel) {
+        try {
+            String removeId = getString(call, "removeId");
+            if (removeId != null && !flatTerrain.remove(removeId)) {
+                return McpToolResponse.error("Unknown flat region: " + removeId);
+            }
+            JsonArray regions = new JsonArray();
+            for (FlatRegion region : flatTerrain.getRegions()) {
+                regions.add(region.toJson());
+            }
+            JsonObject json = new JsonObject();
+            json.add("regions", regions);
+            return McpToolResponse.success(GSON.toJson(json));
+        } catch (Exception e) {
+            return McpToolResponse.error("flat_regions failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package fr.thinkbit.hytale.structurebuilder.feature;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.top_serveurs.hytale.plugins.mcp.features.McpToolSchema;
+import fr.thinkbit.hytale.structurebuilder.generator.StructureGenerator;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Turns {@link ParamSet} declarations into tool input schema properties, so
+ * descriptions, defaults, ranges and choices come from the same declarations
+ * the arguments are bound with.
+ */
+final class ParamSchema {
+
+    private ParamSchema() {}
+
+    static void putAll(Map<String, JsonObject> props, ParamSet params) {
+        for (Param<?> param : params.getParams()) {
+            String defaults = param.isRequired() ? "" : " (default: " + param.getDefault() + ")";
+            props.put(param.getName(), property(List.of(param), defaults));
+        }
+    }
+
+    static List<String> required(ParamSet params) {
+        return params.getParams().stream().filter(Param::isRequired).map(Param::getName).toList();
+    }
+
+    /**
+     * One property per parameter name across all generators. The description
+     * is the first declaration's, followed by which types use the parameter
+     * and their defaults; ranges and choices are widened to cover every type.
+     */
+    static void putMerged(Map<String, JsonObject> props, Collection<StructureGenerator> generators) {
+        Map<String, Map<String, Param<?>>> byName = new LinkedHashMap<>();
+        for (StructureGenerator generator : generators) {
+            for (Param<?> param : generator.getParams().getParams()) {
+                byName.computeIfAbsent(param.getName(), k -> new LinkedHashMap<>()).put(generator.getType(), param);
+            }
+        }
+        for (Map.Entry<String, Map<String, Param<?>>> entry : byName.entrySet()) {
+            Map<String, Param<?>> byType = entry.getValue();
+            List<Param<?>> declarations = new ArrayList<>(byType.values());
+            props.put(entry.getKey(), property(declarations, mergedDefaults(byType, byType.size() == generators.size())));
+        }
+    }
+
+    private static String mergedDefaults(Map<String, Param<?>> byType, boolean everyType) {
+        Set<Object> defaults = byType.values().stream().map(Param::getDefault)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (defaults.size() > 1) {
+            return " (" + byType.entrySet().stream()
+                    .map(e -> e.getKey() + ": " + Objects.requireNonNullElse(e.getValue().getDefault(), "required"))
+                    .collect(Collectors.joining(", ")) + ")";
+        }
+        Object shared = defaults.iterator().next();
+        String types = everyType ? "" : String.join("/", byType.keySet());
+        String defaultText = shared != null ? "default: " + shared : "";
+        if (types.isEmpty() && defaultText.isEmpty()) return "";
+        return " (" + types + (!types.isEmpty() && !defaultText.isEmpty() ? ", " : "") + defaultText + ")";
+    }
+
+    private static JsonObject property(List<Param<?>> declarations, String defaults) {
+        Param<?> first = declarations.get(0);
+        Set<String> choices = new LinkedHashSet<>();
+        declarations.forEach(p -> choices.addAll(p.getChoices()));
+
+        String description = first.getDescription();
+        if (first.getType() == Param.Type.BOOLEAN) {
+            description += ": true/false";
+        } else if (!choices.isEmpty()) {
+            description += ": " + String.join(", ", choices);
+        }
+        description += defaults;
+
+        if (first.getType() != Param.Type.INTEGER) {
+            JsonObject json = McpToolSchema.stringProperty(description);
+            if (!choices.isEmpty()) {
+                JsonArray values = new JsonArray();
+                choices.forEach(values::add);
+                json.add("enum", values);
+            }
+            return json;
+        }
+        JsonObject json = McpToolSchema.integerProperty(description);
+        if (declarations.stream().allMatch(Param::isBounded)) {
+            json.addProperty("minimum", declarations.stream().mapToInt(Param::getMin).min().getAsInt());
+            json.addProperty("maximum", declarations.stream().mapToInt(Param::getMax).max().getAsInt());
+        }
+        return json;
+    }
+}
@@ -0,0 +1,85 @@
+package fr.thinkbit.hytale.structurebuilder.feature;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.top_serveurs.hytale.plugins.mcp.auth.McpAuthManager;
+import com.top_serveurs.hytale.plugins.mcp.features.McpToolSchema;
+import com.top_serveurs.hytale.plugins.mcp.models.McpTool;
+import com.top_serveurs.hytale.plugins.mcp.models.McpToolCall;
+import com.top_serveurs.hytale.plugins.mcp.models.McpToolResponse;
+import fr.thinkbit.hytale.structurebuilder.build.ApplyBudget;
+import fr.thinkbit.hytale.structurebuilder.build.CheckpointStore;
+import fr.thinkbit.hytale.structurebuilder.build.TileCheckpoint;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Continues an interrupted create_flat_world build from its checkpoint, or
+ * lists the builds that can be continued.
+ */
+public class ResumeFlatWorldFeature extends AbstractWorldFeature {
+
+    private final CreateFlatWorldFeature flatWorld;
+
+    public ResumeFlatWorldFeature(CreateFlatWorldFeature flatWorld) {
+        this.flatWorld = flatWorld;
+    }
+
+    @Override
+    public String getName() {
+        return "resume_flat_world";
+    }
+
+    @Override
+    public McpTool getToolDefinition() {
+        return new McpTool("resume_flat_world",
+                "Continues a create_flat_world build that was cancelled, failed or cut short by a server restart, " +
+                "starting at the first tile it had not finished. Without checkpointId, lists the builds that can be " +
+                "resumed and how many of their tiles are done.",
+                "function");
+    }
+
+    @Override
+    public String getInputSchema() {
+        Map<String, JsonObject> props = new LinkedHashMap<>();
+        props.put("checkpointId", McpToolSchema.stringProperty(
+                "Job ID of the original create_flat_world build; omit to list resumable builds"));
+        putJobProperties(props);
+        // World-thread budget
+        props.put("tickBlockBudget", McpToolSchema.integerProperty(
+                "Maximum blocks written per server tick (default: " + ApplyBudget.DEFAULT_BLOCKS_PER_TICK + ")"));
+        props.put("tickTimeBudgetMs", McpToolSchema.integerProperty(
+                "Maximum milliseconds of world-thread time per tick (default: " + ApplyBudget.DEFAULT_MILLIS_PER_TICK + ")"));
+
+        return McpToolSchema.schemaWithProperties(props, List.of());
+    }
+
+    @Override
+    public McpToolResponse execute(McpToolCall call, McpAuthManager.AuthLevel authLevel) {
+        CheckpointStore checkpoints = flatWorld.getCheckpoints();
+        if (checkpoints == null) {
+            return McpToolResponse.error("Checkpoints are not enabled on this server");
+        }
+        try {
+            String id = getString(call, "checkpointId");
+            if (id == null) {
+                JsonArray list = new JsonArray();
+                for (TileCheckpoint checkpoint : checkpoints.list()) {
+                    list.add(checkpoint.toJson());
+                }
+                JsonObject json = new JsonObject();
+                json.add("checkpoints", list);
+                return McpToolResponse.success(GSON.toJson(json));
+            }
+            TileCheckpoint checkpoint = checkpoints.load(id);
+            if (checkpoint == null) {
+                return McpToolResponse.error("No checkpoint for " + id + "; the build finished or never ran in parallel");
+            }
+            return flatWorld.resume(call, checkpoint);
+        } catch (Exception e) {
+            return McpToolResponse.error("resume_flat_world failed: " + e.getMessage());
+        }
+    }
+}
@@ -1,33 +1,54 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
-
-import java.util.Map;
+import fr.thinkbit.hytale.structurebuilder.material.ResolvedPalette;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 public class ArchGenerator implements StructureGenerator {
 
+    private static final Param<Integer> WIDTH = Param.integer("width", "Opening width").withDefault(5).range(1, 256);
+    private static final Param<Integer> HEIGHT = Param.integer("height", "Total height including the curve")
+            .withDefault(7).range(1, 256);
+    private static final Param<Integer> DEPTH = Param.integer("depth", "Thickness of the arch")
+            .withDefault(2).range(1, 64);
+    private static final Param<String> DIRECTION = Param.string("direction", "Direction")
+            .withDefault("z").oneOf("x", "z");
+    private static final Param<Boolean> LANTERNS = Param.bool("lanterns", "Add lanterns").withDefault(true);
+
+    private static final ParamSet PARAMS = ParamSet.of(
+            StructureParams.X, StructureParams.Y, StructureParams.Z, WIDTH, HEIGHT, DEPTH, DIRECTION, LANTERNS)
+            .withCheck(ArchGenerator::checkHeight);
+
     @Override
     public String getType() {
         return "arch";
     }
 
     @Override
-    public StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
-        long start = System.currentTimeMillis();
-
-        int x = getInt(args, "x");
-        int y = getInt(args, "y");
-        int z = getInt(args, "z");
-        int archWidth = getInt(args, "width", 5);      // opening width
-        int archHeight = getInt(args, "height", 7);     // total height including curve
-        int archDepth = getInt(args, "depth", 2);       // thickness of the arch
-        String direction = getString(args, "direction", "z"); // arch spans across this axis
-        boolean lanterns = getBool(args, "lanterns", true);
+    public ParamSet getParams() {
+        return PARAMS;
+    }
 
-        String wallBlock = palette.getWall();
-        String accentBlock = palette.getWallAccent();
-        String trimBlock = palette.getRoofTrim();
-        String lanternBlock = palette.getLantern();
+    @Override
+    public StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer) {
+        long start = System.currentTimeMillis();
+        ResolvedPalette blocks = palette.resolve(placer.getRegistry());
+
+        int x = params.get(StructureParams.X);
+        int y = params.get(StructureParams.Y);
+        int z = params.get(StructureParams.Z);
+        int archWidth = params.get(WIDTH);      // opening width
+        int archHeight = params.get(HEIGHT);     // total height including curve
+        int archDepth = params.get(DEPTH);       // thickness of the arch
+        String direction = params.get(DIRECTION); // arch spans across this axis
+        boolean lanterns = params.get(LANTERNS);
+
+        int wallBlock = blocks.getWall();
+        int accentBlock = blocks.getWallAccent();
+        int trimBlock = blocks.getRoofTrim();
+        int lanternBlock = blocks.getLantern();
 
         // Pillar height = total height minus the curved top portion
         int halfW = archWidth / 2;
@@ -141,28 +162,11 @@ public class ArchGenerator implements StructureGenerator {
         );
     }
 
-    private int getInt(Map<String, Object> args, String key) {
-        Object val = args.get(key);
-        if (val == null) throw new IllegalArgumentException("Missing required parameter: " + key);
-        return ((Number) val).intValue();
-    }
-
-    private int getInt(Map<String, Object> args, String key, int defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return ((Number) val).intValue();
-    }
-
-    private String getString(Map<String, Object> args, String key, String defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return val.toString();
-    }
-
-    private boolean getBool(Map<String, Object> args, String key, boolean defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        if (val instanceof Boolean b) return b;
-        return Boolean.parseBoolean(val.toString());
+    // Pillars, at most halfWidth of curve on top of them, then the trim row
+    private static String checkHeight(Params params) {
+        int y = params.get(StructureParams.Y);
+        int halfW = params.get(WIDTH) / 2;
+        int pillarHeight = Math.max(1, params.get(HEIGHT) - halfW - 1);
+        return StructureParams.checkHeight(y, y + pillarHeight + halfW + 1);
     }
 }
@@ -1,6 +1,56 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
+import fr.thinkbit.hytale.structurebuilder.material.BlockRegistry;
+import fr.thinkbit.hytale.structurebuilder.material.LocalBlockRegistry;
+
 public interface BlockPlacer {
     void setBlock(int x, int y, int z, String blockType);
-    int getBlockCount();
+    long getBlockCount();
+
+    /**
+     * Registry that ids passed to {@link #setBlock(int, int, int, int)} come
+     * from. Generators resolve their palette against it once per build.
+     */
+    default BlockRegistry getRegistry() {
+        return LocalBlockRegistry.getShared();
+    }
+
+    /**
+     * Places a block by pre-resolved id, the path generators use in their
+     * inner loops. Placers that store ids natively override this.
+     */
+    default void setBlock(int x, int y, int z, int blockId) {
+        setBlock(x, y, z, getRegistry().getName(blockId));
+    }
+
+    /**
+     * Hint from the generator of how many blocks it is about to write, for
+     * progress reporting. Ignored by default.
+     */
+    default void expect(long blocks) {
+    }
+
+    /**
+     * Fills the box between both corners (inclusive) with one block type.
+     * Placers that can write whole regions at once override this.
+     */
+    default void fill(int x1, int y1, int z1, int x2, int y2, int z2, String blockType) {
+        for (int x = x1; x <= x2; x++) {
+            for (int z = z1; z <= z2; z++) {
+                for (int y = y1; y <= y2; y++) {
+                    setBlock(x, y, z, blockType);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stamps the same column profile on every column between both corners
+     * (inclusive). The default writes one fill per run.
+     */
+    default void stampColumns(int x1, int z1, int x2, int z2, ColumnProfile profile) {
+        for (ColumnProfile.Run run : profile.getRuns()) {
+            fill(x1, run.minY(), z1, x2, run.maxY(), z2, run.blockType());
+        }
+    }
 }
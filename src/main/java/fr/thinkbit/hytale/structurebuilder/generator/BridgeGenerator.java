@@ -1,34 +1,60 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
-
-import java.util.Map;
+import fr.thinkbit.hytale.structurebuilder.material.ResolvedPalette;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 public class BridgeGenerator implements StructureGenerator {
 
+    private static final Param<Integer> LENGTH = Param.integer("length", "Length").withDefault(15).range(1, 256);
+    private static final Param<Integer> WIDTH = Param.integer("width", "Width in X").withDefault(3).range(1, 256);
+    private static final Param<String> DIRECTION = Param.string("direction", "Direction")
+            .withDefault("x").oneOf("x", "z");
+    private static final Param<Boolean> RAILINGS = Param.bool("railings", "Add railings").withDefault(true);
+    private static final Param<Boolean> SUPPORTS = Param.bool("supports", "Add support pillars").withDefault(true);
+    private static final Param<Integer> SUPPORT_SPACING = Param.integer("supportSpacing", "Spacing between supports")
+            .withDefault(5).range(1, 256);
+    private static final Param<Integer> SUPPORT_DEPTH = Param.integer("supportDepth", "Depth of support pillars")
+            .withDefault(5).range(0, 128);
+
+    private static final ParamSet PARAMS = ParamSet.of(
+            StructureParams.X, StructureParams.Y, StructureParams.Z,
+            LENGTH, WIDTH, DIRECTION, RAILINGS, SUPPORTS, SUPPORT_SPACING, SUPPORT_DEPTH)
+            .withCheck(params -> StructureParams.checkHeight(
+                    params.get(StructureParams.Y) - (params.get(SUPPORTS) ? params.get(SUPPORT_DEPTH) : 0),
+                    params.get(StructureParams.Y) + (params.get(RAILINGS) ? 1 : 0)));
+
     @Override
     public String getType() {
         return "bridge";
     }
 
     @Override
-    public StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
-        long start = System.currentTimeMillis();
-
-        int x = getInt(args, "x");
-        int y = getInt(args, "y");
-        int z = getInt(args, "z");
-        int length = getInt(args, "length", 15);
-        int width = getInt(args, "width", 3);
-        String direction = getString(args, "direction", "x");
-        boolean railings = getBool(args, "railings", true);
-        boolean supports = getBool(args, "supports", true);
-        int supportSpacing = getInt(args, "supportSpacing", 5);
-        int supportDepth = getInt(args, "supportDepth", 5);
+    public ParamSet getParams() {
+        return PARAMS;
+    }
 
-        String floorBlock = palette.getFloor();
-        String accentBlock = palette.getWallAccent();
-        String foundationBlock = palette.getFoundation();
+    @Override
+    public StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer) {
+        long start = System.currentTimeMillis();
+        ResolvedPalette blocks = palette.resolve(placer.getRegistry());
+
+        int x = params.get(StructureParams.X);
+        int y = params.get(StructureParams.Y);
+        int z = params.get(StructureParams.Z);
+        int length = params.get(LENGTH);
+        int width = params.get(WIDTH);
+        String direction = params.get(DIRECTION);
+        boolean railings = params.get(RAILINGS);
+        boolean supports = params.get(SUPPORTS);
+        int supportSpacing = params.get(SUPPORT_SPACING);
+        int supportDepth = params.get(SUPPORT_DEPTH);
+
+        int floorBlock = blocks.getFloor();
+        int accentBlock = blocks.getWallAccent();
+        int foundationBlock = blocks.getFoundation();
 
         int minX = x, minY = y, minZ = z;
         int maxX = x, maxY = y, maxZ = z;
@@ -95,29 +121,4 @@ public class BridgeGenerator implements StructureGenerator {
                 elapsed, "bridge"
         );
     }
-
-    private int getInt(Map<String, Object> args, String key) {
-        Object val = args.get(key);
-        if (val == null) throw new IllegalArgumentException("Missing required parameter: " + key);
-        return ((Number) val).intValue();
-    }
-
-    private int getInt(Map<String, Object> args, String key, int defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return ((Number) val).intValue();
-    }
-
-    private String getString(Map<String, Object> args, String key, String defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return val.toString();
-    }
-
-    private boolean getBool(Map<String, Object> args, String key, boolean defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        if (val instanceof Boolean b) return b;
-        return Boolean.parseBoolean(val.toString());
-    }
 }
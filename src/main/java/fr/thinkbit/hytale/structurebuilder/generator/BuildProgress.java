@@ -0,0 +1,121 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Progress counters of one build, written by the thread doing the work and
+ * readable from any other thread. Each counter has a single writer (the
+ * staging worker or the world thread), so plain volatile fields suffice;
+ * tiled builds stage on several threads and publish under one lock.
+ * Staging publishes on chunk changes and the applier once per slice, which
+ * keeps the cost out of the per-block paths.
+ */
+public final class BuildProgress {
+
+    private volatile long blocksStaged;
+    private volatile long estimatedTotal = -1;
+    private volatile long blocksApplied;
+    private volatile int chunksCompleted;
+    private volatile int chunksTotal = -1;
+    private volatile long applyStartNanos;
+    // Time apply slices spent queued on the world executor vs running on it
+    private volatile long worldWaitNanos;
+    private volatile long worldRunNanos;
+
+    /** Generator's up-front estimate of the blocks it will write. */
+    public void expect(long total) {
+        estimatedTotal = total;
+    }
+
+    public void staged(long blocks) {
+        blocksStaged = blocks;
+    }
+
+    /** Staging is done: the exact number of blocks and chunks to apply is known. */
+    public void startApplying(int chunks, long blocks) {
+        chunksTotal = chunks;
+        estimatedTotal = blocks;
+        applyStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Applying started while staging goes on: {@code chunks} more chunks are
+     * ready. The total stays the generator's estimate until {@link #stagingDone}.
+     */
+    public void moreToApply(int chunks) {
+        if (applyStartNanos == 0) {
+            applyStartNanos = System.nanoTime();
+        }
+        chunksTotal = Math.max(0, chunksTotal) + chunks;
+    }
+
+    /** Staging finished after applying started: the totals are exact from now on. */
+    public void stagingDone(int chunks, long blocks) {
+        chunksTotal = chunks;
+        estimatedTotal = blocks;
+    }
+
+    public void applied(long blocks) {
+        blocksApplied = blocks;
+    }
+
+    public void chunkCompleted() {
+        chunksCompleted++;
+    }
+
+    /** One apply slice ran after waiting {@code waitNanos} in the world's queue. */
+    public void sliceRan(long waitNanos, long runNanos) {
+        worldWaitNanos += waitNanos;
+        worldRunNanos += runNanos;
+    }
+
+    public long getBlocksStaged() { return blocksStaged; }
+    public long getEstimatedTotal() { return estimatedTotal; }
+    public long getBlocksApplied() { return blocksApplied; }
+    public int getChunksCompleted() { return chunksCompleted; }
+    public int getChunksTotal() { return chunksTotal; }
+    public long getWorldQueueWaitMs() { return worldWaitNanos / 1_000_000; }
+    public long getWorldRunMs() { return worldRunNanos / 1_000_000; }
+
+    /**
+     * Fraction of the estimated total already applied, or -1 while unknown.
+     */
+    public double getFractionDone() {
+        long total = estimatedTotal;
+        if (total < 0 || chunksTotal < 0) return -1;
+        return total == 0 ? 1 : Math.min(1, (double) blocksApplied / total);
+    }
+
+    /**
+     * Remaining apply time extrapolated from the rate so far, or -1 while unknown.
+     */
+    public long getEstimatedRemainingMs() {
+        long start = applyStartNanos;
+        long applied = blocksApplied;
+        long total = estimatedTotal;
+        if (start == 0 || applied == 0 || total < 0) return -1;
+        long elapsedNanos = System.nanoTime() - start;
+        return Math.max(0, (long) ((double) elapsedNanos / applied * (total - applied) / 1_000_000));
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("blocksStaged", blocksStaged);
+        json.addProperty("blocksApplied", blocksApplied);
+        if (estimatedTotal >= 0) {
+            json.addProperty("estimatedTotal", estimatedTotal);
+        }
+        if (chunksTotal >= 0) {
+            json.addProperty("chunksCompleted", chunksCompleted);
+            json.addProperty("chunksTotal", chunksTotal);
+            json.addProperty("percent", Math.round(getFractionDone() * 1000) / 10.0);
+            json.addProperty("worldQueueWaitMs", getWorldQueueWaitMs());
+            json.addProperty("worldRunMs", getWorldRunMs());
+        }
+        long remaining = getEstimatedRemainingMs();
+        if (remaining >= 0) {
+            json.addProperty("estimatedRemainingMs", remaining);
+        }
+        return json;
+    }
+}
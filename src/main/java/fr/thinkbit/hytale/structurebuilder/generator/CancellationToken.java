@@ -0,0 +1,51 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative cancellation flag shared between whoever started a build and
+ * the threads doing the work. Staging checks it whenever it moves to another
+ * chunk, and the world-thread applier before every slice.
+ */
+public final class CancellationToken {
+
+    /** A token that can never be cancelled. */
+    public static final CancellationToken NONE = new CancellationToken(false, null);
+
+    private final boolean cancellable;
+    private final CancellationToken parent;
+    private volatile boolean cancelled;
+
+    public CancellationToken() {
+        this(true, null);
+    }
+
+    private CancellationToken(boolean cancellable, CancellationToken parent) {
+        this.cancellable = cancellable;
+        this.parent = parent;
+    }
+
+    /**
+     * A token cancelled along with this one that can also be cancelled on
+     * its own, e.g. to stop the rest of a build after one part failed.
+     */
+    public CancellationToken child() {
+        return new CancellationToken(true, this);
+    }
+
+    public void cancel() {
+        if (cancellable) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled || (parent != null && parent.isCancelled());
+    }
+
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("Build cancelled");
+        }
+    }
+}
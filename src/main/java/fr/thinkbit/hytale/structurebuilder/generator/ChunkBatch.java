@@ -0,0 +1,187 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import fr.thinkbit.hytale.structurebuilder.material.BlockRegistry;
+
+import java.util.Arrays;
+
+/**
+ * Writes staged for a single chunk column, kept in first-placement order.
+ * Positions are packed into chunk-local ints: bits 0-4 hold local X,
+ * bits 5-9 local Z and the remaining (signed) bits hold Y.
+ * Writes are coalesced: a later write to the same position replaces the
+ * earlier block type, so each position reaches the world only once.
+ * <p>
+ * Uniform boxes are kept as fill regions (clipped to the chunk) instead of
+ * individual positions. Fills are applied first, in staging order, then the
+ * single-block writes; a fill drops any single-block write it covers so the
+ * last write still wins.
+ */
+public final class ChunkBatch {
+
+    private static final int BITS = ChunkBatchingBlockPlacer.CHUNK_BITS;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private final BlockRegistry registry;
+    private final int chunkX;
+    private final int chunkZ;
+    private int[] positions = new int[64];
+    private int[] blockIds = new int[64];
+    private int size;
+    // Open-addressing index from packed position to slot + 1 (0 = empty)
+    private int[] index = new int[128];
+    // Fill regions: minX, minY, minZ, maxX, maxY, maxZ per fill (world coordinates)
+    private int[] fills = new int[0];
+    private int[] fillBlockIds = new int[0];
+    private int fillCount;
+
+    ChunkBatch(BlockRegistry registry, int chunkX, int chunkZ) {
+        this.registry = registry;
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+    }
+
+    /**
+     * Stages a write, returning false when it only replaced the type of a
+     * position already staged in this batch.
+     */
+    boolean add(int x, int y, int z, int blockId) {
+        int pos = (x & MASK) | ((z & MASK) << BITS) | (y << (2 * BITS));
+        int mask = index.length - 1;
+        int h = hash(pos) & mask;
+        int slot;
+        while ((slot = index[h]) != 0) {
+            if (positions[slot - 1] == pos) {
+                blockIds[slot - 1] = blockId;
+                return false;
+            }
+            h = (h + 1) & mask;
+        }
+
+        if (size == positions.length) {
+            positions = Arrays.copyOf(positions, size * 2);
+            blockIds = Arrays.copyOf(blockIds, size * 2);
+        }
+        positions[size] = pos;
+        blockIds[size] = blockId;
+        size++;
+        index[h] = size;
+        if (size * 2 > index.length) {
+            rehash(index.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Stages a uniform box already clipped to this chunk and returns the
+     * number of staged single-block writes it replaced.
+     */
+    int addFill(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, int blockId) {
+        if (fillCount * 6 == fills.length) {
+            fills = Arrays.copyOf(fills, Math.max(6, fills.length * 2));
+            fillBlockIds = Arrays.copyOf(fillBlockIds, Math.max(1, fillBlockIds.length * 2));
+        }
+        int base = fillCount * 6;
+        fills[base] = minX;
+        fills[base + 1] = minY;
+        fills[base + 2] = minZ;
+        fills[base + 3] = maxX;
+        fills[base + 4] = maxY;
+        fills[base + 5] = maxZ;
+        fillBlockIds[fillCount] = blockId;
+        fillCount++;
+        return removeCovered(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    private int removeCovered(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int x = getX(i), y = getY(i), z = getZ(i);
+            boolean covered = x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+            if (!covered) {
+                positions[kept] = positions[i];
+                blockIds[kept] = blockIds[i];
+                kept++;
+            }
+        }
+        int removed = size - kept;
+        if (removed > 0) {
+            size = kept;
+            rehash(index.length);
+        }
+        return removed;
+    }
+
+    private void rehash(int capacity) {
+        int[] table = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            int h = hash(positions[i]) & mask;
+            while (table[h] != 0) {
+                h = (h + 1) & mask;
+            }
+            table[h] = i + 1;
+        }
+        index = table;
+    }
+
+    private static int hash(int pos) {
+        int h = pos * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Registry the staged block ids belong to.
+     */
+    public BlockRegistry getRegistry() { return registry; }
+    public int getChunkX() { return chunkX; }
+    public int getChunkZ() { return chunkZ; }
+    public int size() { return size; }
+
+    public int getX(int i) {
+        return (chunkX << BITS) | (positions[i] & MASK);
+    }
+
+    public int getY(int i) {
+        return positions[i] >> (2 * BITS);
+    }
+
+    public int getZ(int i) {
+        return (chunkZ << BITS) | ((positions[i] >>> BITS) & MASK);
+    }
+
+    public int getBlockId(int i) {
+        return blockIds[i];
+    }
+
+    public String getType(int i) {
+        return registry.getName(blockIds[i]);
+    }
+
+    public int getFillCount() { return fillCount; }
+    public int getFillMinX(int f) { return fills[f * 6]; }
+    public int getFillMinY(int f) { return fills[f * 6 + 1]; }
+    public int getFillMinZ(int f) { return fills[f * 6 + 2]; }
+    public int getFillMaxX(int f) { return fills[f * 6 + 3]; }
+    public int getFillMaxY(int f) { return fills[f * 6 + 4]; }
+    public int getFillMaxZ(int f) { return fills[f * 6 + 5]; }
+    public int getFillBlockId(int f) { return fillBlockIds[f]; }
+    public String getFillType(int f) { return registry.getName(fillBlockIds[f]); }
+
+    /**
+     * Number of blocks in one Y layer of the given fill.
+     */
+    public int getFillLayerArea(int f) {
+        return (getFillMaxX(f) - getFillMinX(f) + 1) * (getFillMaxZ(f) - getFillMinZ(f) + 1);
+    }
+
+    /**
+     * Total number of blocks this batch writes: every fill plus the single-block writes.
+     */
+    public long getVolume() {
+        long volume = size;
+        for (int f = 0; f < fillCount; f++) {
+            volume += (long) getFillLayerArea(f) * (getFillMaxY(f) - getFillMinY(f) + 1);
+        }
+        return volume;
+    }
+}
@@ -0,0 +1,205 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import fr.thinkbit.hytale.structurebuilder.material.BlockRegistry;
+import fr.thinkbit.hytale.structurebuilder.material.LocalBlockRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stages writes in memory, grouped by chunk column, so they can be applied
+ * with a single chunk lookup per chunk instead of one per block.
+ * Overlapping writes are coalesced (last write wins), so generators that
+ * carve openings into finished walls only cost one world write per block.
+ * Nothing reaches the world until {@link #flush(ChunkWriter)} is called.
+ * <p>
+ * Staging stops with a {@link java.util.concurrent.CancellationException}
+ * at the next chunk change once its {@link CancellationToken} is cancelled.
+ * The staged count is published to its {@link BuildProgress} at the same
+ * points.
+ */
+public class ChunkBatchingBlockPlacer implements BlockPlacer {
+
+    // Hytale chunk columns are 32x32 blocks
+    static final int CHUNK_BITS = 5;
+    static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+    private final BlockRegistry registry;
+    private final CancellationToken cancellation;
+    private final BuildProgress progress;
+    private final Map<Long, ChunkBatch> batches = new LinkedHashMap<>();
+    private ChunkBatch lastBatch;
+    private long lastKey;
+    private long count;
+    private long effectiveCount;
+
+    public ChunkBatchingBlockPlacer() {
+        this(LocalBlockRegistry.getShared());
+    }
+
+    /**
+     * @param registry registry generators resolve their block ids against;
+     *                 use the world's registry so staged ids apply unchanged
+     */
+    public ChunkBatchingBlockPlacer(BlockRegistry registry) {
+        this(registry, CancellationToken.NONE, new BuildProgress());
+    }
+
+    public ChunkBatchingBlockPlacer(BlockRegistry registry, CancellationToken cancellation, BuildProgress progress) {
+        this.registry = registry;
+        this.cancellation = cancellation;
+        this.progress = progress;
+    }
+
+    public BuildProgress getProgress() {
+        return progress;
+    }
+
+    @Override
+    public void expect(long blocks) {
+        progress.expect(blocks);
+    }
+
+    @Override
+    public BlockRegistry getRegistry() {
+        return registry;
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, String blockType) {
+        setBlock(x, y, z, registry.getId(blockType));
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, int blockId) {
+        if (batchFor(x >> CHUNK_BITS, z >> CHUNK_BITS).add(x, y, z, blockId)) {
+            effectiveCount++;
+        }
+        count++;
+    }
+
+    /**
+     * Stages the box as one fill region per chunk it crosses instead of one
+     * entry per block.
+     */
+    @Override
+    public void fill(int x1, int y1, int z1, int x2, int y2, int z2, String blockType) {
+        if (x2 < x1 || y2 < y1 || z2 < z1) return;
+        int blockId = registry.getId(blockType);
+        long layer = (long) (x2 - x1 + 1) * (z2 - z1 + 1);
+        for (int cx = x1 >> CHUNK_BITS; cx <= x2 >> CHUNK_BITS; cx++) {
+            int minX = Math.max(x1, cx << CHUNK_BITS);
+            int maxX = Math.min(x2, (cx << CHUNK_BITS) + CHUNK_MASK);
+            for (int cz = z1 >> CHUNK_BITS; cz <= z2 >> CHUNK_BITS; cz++) {
+                int minZ = Math.max(z1, cz << CHUNK_BITS);
+                int maxZ = Math.min(z2, (cz << CHUNK_BITS) + CHUNK_MASK);
+                int volume = (maxX - minX + 1) * (y2 - y1 + 1) * (maxZ - minZ + 1);
+                int replaced = batchFor(cx, cz).addFill(minX, y1, minZ, maxX, y2, maxZ, blockId);
+                effectiveCount += volume - replaced;
+            }
+        }
+        count += layer * (y2 - y1 + 1);
+        progress.staged(count);
+    }
+
+    /**
+     * Stages one fill per run in each chunk the area crosses, so a chunk is
+     * looked up once for the whole profile.
+     */
+    @Override
+    public void stampColumns(int x1, int z1, int x2, int z2, ColumnProfile profile) {
+        if (x2 < x1 || z2 < z1) return;
+        List<ColumnProfile.Run> runs = profile.getRuns();
+        int[] runIds = new int[runs.size()];
+        for (int r = 0; r < runIds.length; r++) {
+            runIds[r] = registry.getId(runs.get(r).blockType());
+        }
+        for (int cx = x1 >> CHUNK_BITS; cx <= x2 >> CHUNK_BITS; cx++) {
+            int minX = Math.max(x1, cx << CHUNK_BITS);
+            int maxX = Math.min(x2, (cx << CHUNK_BITS) + CHUNK_MASK);
+            for (int cz = z1 >> CHUNK_BITS; cz <= z2 >> CHUNK_BITS; cz++) {
+                int minZ = Math.max(z1, cz << CHUNK_BITS);
+                int maxZ = Math.min(z2, (cz << CHUNK_BITS) + CHUNK_MASK);
+                ChunkBatch batch = batchFor(cx, cz);
+                int area = (maxX - minX + 1) * (maxZ - minZ + 1);
+                for (int r = 0; r < runIds.length; r++) {
+                    ColumnProfile.Run run = runs.get(r);
+                    int replaced = batch.addFill(minX, run.minY(), minZ, maxX, run.maxY(), maxZ, runIds[r]);
+                    effectiveCount += area * run.height() - replaced;
+                }
+            }
+        }
+        count += (long) (x2 - x1 + 1) * (z2 - z1 + 1) * profile.getHeight();
+        progress.staged(count);
+    }
+
+    /**
+     * Raw number of writes issued by the generator, overdraw included.
+     */
+    @Override
+    public long getBlockCount() {
+        return count;
+    }
+
+    /**
+     * Number of writes that actually reach the world once overdraw has been
+     * coalesced away. Overlapping fills are counted by their full volume.
+     */
+    public long getEffectiveBlockCount() {
+        return effectiveCount;
+    }
+
+    public int getChunkCount() {
+        return batches.size();
+    }
+
+    public Collection<ChunkBatch> getBatches() {
+        return Collections.unmodifiableCollection(batches.values());
+    }
+
+    /**
+     * Hands every staged chunk to the writer, in the order chunks were first
+     * touched, then clears the stage. Must run on the world thread when the
+     * writer targets a live world.
+     */
+    public int flush(ChunkWriter writer) {
+        List<ChunkBatch> drained = drainBatches();
+        for (ChunkBatch batch : drained) {
+            writer.writeChunk(batch);
+        }
+        return drained.size();
+    }
+
+    /**
+     * Removes and returns every staged chunk, in the order chunks were first
+     * touched, for callers that apply them themselves.
+     */
+    public List<ChunkBatch> drainBatches() {
+        progress.staged(count);
+        List<ChunkBatch> drained = new ArrayList<>(batches.values());
+        batches.clear();
+        lastBatch = null;
+        return drained;
+    }
+
+    private ChunkBatch batchFor(int chunkX, int chunkZ) {
+        long key = chunkKey(chunkX, chunkZ);
+        // Generators mostly write runs of blocks in the same chunk
+        if (lastBatch != null && lastKey == key) {
+            return lastBatch;
+        }
+        cancellation.throwIfCancelled();
+        progress.staged(count);
+        lastBatch = batches.computeIfAbsent(key, k -> new ChunkBatch(registry, chunkX, chunkZ));
+        lastKey = key;
+        return lastBatch;
+    }
+
+    static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
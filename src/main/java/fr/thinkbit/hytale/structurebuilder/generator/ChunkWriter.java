@@ -0,0 +1,90 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import fr.thinkbit.hytale.structurebuilder.material.BlockRegistry;
+import fr.thinkbit.hytale.structurebuilder.material.LocalBlockRegistry;
+
+/**
+ * Target for staged writes, applied one chunk at a time.
+ */
+public interface ChunkWriter {
+
+    /**
+     * Applies single-block entries {@code [from, to)} of the batch. Large
+     * batches may be applied in several slices, e.g. when spread over
+     * multiple ticks.
+     */
+    void writeChunk(ChunkBatch batch, int from, int to);
+
+    /**
+     * Applies layers {@code fromY..toY} (inclusive) of the batch's fill region.
+     */
+    void fillChunk(ChunkBatch batch, int fill, int fromY, int toY);
+
+    /**
+     * Applies columns {@code [from, to)} of layer {@code y} of the batch's
+     * fill region, numbered X-major ({@code (x - minX) * depth + (z - minZ)}),
+     * for budgets smaller than one layer. Writers that cannot write part of
+     * a layer write all of it.
+     */
+    default void fillChunkLayer(ChunkBatch batch, int fill, int y, int from, int to) {
+        fillChunk(batch, fill, y, y);
+    }
+
+    /**
+     * Registry this writer works with natively. Batches staged against it
+     * are applied without translating block ids.
+     */
+    default BlockRegistry getRegistry() {
+        return LocalBlockRegistry.getShared();
+    }
+
+    /**
+     * Applies the whole batch: fills first, then single-block writes.
+     */
+    default void writeChunk(ChunkBatch batch) {
+        for (int f = 0; f < batch.getFillCount(); f++) {
+            fillChunk(batch, f, batch.getFillMinY(f), batch.getFillMaxY(f));
+        }
+        writeChunk(batch, 0, batch.size());
+    }
+
+    /**
+     * Adapts any placer, e.g. to replay a stage into a {@link RecordingBlockPlacer}.
+     */
+    static ChunkWriter forPlacer(BlockPlacer placer) {
+        return new ChunkWriter() {
+            @Override
+            public BlockRegistry getRegistry() {
+                return placer.getRegistry();
+            }
+
+            @Override
+            public void writeChunk(ChunkBatch batch, int from, int to) {
+                if (batch.getRegistry() == placer.getRegistry()) {
+                    for (int i = from; i < to; i++) {
+                        placer.setBlock(batch.getX(i), batch.getY(i), batch.getZ(i), batch.getBlockId(i));
+                    }
+                } else {
+                    for (int i = from; i < to; i++) {
+                        placer.setBlock(batch.getX(i), batch.getY(i), batch.getZ(i), batch.getType(i));
+                    }
+                }
+            }
+
+            @Override
+            public void fillChunk(ChunkBatch batch, int fill, int fromY, int toY) {
+                placer.fill(batch.getFillMinX(fill), fromY, batch.getFillMinZ(fill),
+                        batch.getFillMaxX(fill), toY, batch.getFillMaxZ(fill), batch.getFillType(fill));
+            }
+
+            @Override
+            public void fillChunkLayer(ChunkBatch batch, int fill, int y, int from, int to) {
+                int depth = batch.getFillMaxZ(fill) - batch.getFillMinZ(fill) + 1;
+                String type = batch.getFillType(fill);
+                for (int i = from; i < to; i++) {
+                    placer.setBlock(batch.getFillMinX(fill) + i / depth, y, batch.getFillMinZ(fill) + i % depth, type);
+                }
+            }
+        };
+    }
+}
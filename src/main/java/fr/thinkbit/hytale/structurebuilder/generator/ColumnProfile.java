@@ -0,0 +1,78 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A precomputed vertical column as a list of runs, bottom to top. Used to
+ * stamp the same column over a whole area without re-evaluating the layer
+ * logic for every column.
+ */
+public final class ColumnProfile {
+
+    public record Run(int minY, int maxY, String blockType) {
+        public int height() {
+            return maxY - minY + 1;
+        }
+    }
+
+    private final List<Run> runs;
+
+    private ColumnProfile(List<Run> runs) {
+        this.runs = List.copyOf(runs);
+    }
+
+    public List<Run> getRuns() {
+        return runs;
+    }
+
+    public int getMinY() {
+        return runs.isEmpty() ? 0 : runs.get(0).minY();
+    }
+
+    public int getMaxY() {
+        return runs.isEmpty() ? -1 : runs.get(runs.size() - 1).maxY();
+    }
+
+    /**
+     * Number of blocks in one column.
+     */
+    public int getHeight() {
+        int height = 0;
+        for (Run run : runs) {
+            height += run.height();
+        }
+        return height;
+    }
+
+    /**
+     * Block type at the given height, or null outside the profile.
+     */
+    public String getBlockAt(int y) {
+        for (Run run : runs) {
+            if (y >= run.minY() && y <= run.maxY()) return run.blockType();
+        }
+        return null;
+    }
+
+    public static class Builder {
+        private final List<Run> runs = new ArrayList<>();
+
+        /**
+         * Appends a run from {@code minY} to {@code maxY} inclusive. Empty
+         * runs are ignored; runs must be added bottom to top.
+         */
+        public Builder run(int minY, int maxY, String blockType) {
+            if (maxY < minY) return this;
+            if (!runs.isEmpty() && minY <= runs.get(runs.size() - 1).maxY()) {
+                throw new IllegalArgumentException("Runs must be added bottom to top without overlap");
+            }
+            runs.add(new Run(minY, maxY, blockType));
+            return this;
+        }
+
+        public ColumnProfile build() {
+            return new ColumnProfile(runs);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import fr.thinkbit.hytale.structurebuilder.material.BlockRegistry;
+
+/**
+ * Forwards every write to a shared placer while counting only its own, so
+ * several structures can stage into one placer and still report their
+ * individual block counts.
+ */
+public class CountingBlockPlacer implements BlockPlacer {
+
+    private final BlockPlacer delegate;
+    private long count;
+
+    public CountingBlockPlacer(BlockPlacer delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public BlockRegistry getRegistry() {
+        return delegate.getRegistry();
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, String blockType) {
+        delegate.setBlock(x, y, z, blockType);
+        count++;
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, int blockId) {
+        delegate.setBlock(x, y, z, blockId);
+        count++;
+    }
+
+    @Override
+    public void fill(int x1, int y1, int z1, int x2, int y2, int z2, String blockType) {
+        delegate.fill(x1, y1, z1, x2, y2, z2, blockType);
+        count += (long) Math.max(0, x2 - x1 + 1) * Math.max(0, y2 - y1 + 1) * Math.max(0, z2 - z1 + 1);
+    }
+
+    @Override
+    public void stampColumns(int x1, int z1, int x2, int z2, ColumnProfile profile) {
+        delegate.stampColumns(x1, z1, x2, z2, profile);
+        count += (long) Math.max(0, x2 - x1 + 1) * Math.max(0, z2 - z1 + 1) * profile.getHeight();
+    }
+
+    @Override
+    public long getBlockCount() {
+        return count;
+    }
+}
@@ -0,0 +1,96 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import fr.thinkbit.hytale.structurebuilder.material.BlockRegistry;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Counts what a generator would write without storing any of it: the number
+ * of writes and the chunk columns they touch. Fills and
+ * column stamps are counted in closed form, so a multi-million block flat
+ * world costs one step per chunk rather than one per block.
+ * <p>
+ * Block names are still resolved against the registry, so a dry run fails on
+ * the same unknown blocks the real build would. Overlapping writes are each
+ * counted, which makes the count an upper bound on blocks actually changed.
+ */
+public class DryRunBlockPlacer implements BlockPlacer {
+
+    private static final int BITS = ChunkBatchingBlockPlacer.CHUNK_BITS;
+
+    private final BlockRegistry registry;
+    private final Set<Long> chunks = new HashSet<>();
+    private long writes;
+    private long expected = -1;
+    // Single writes mostly stay in the chunk of the previous one
+    private long lastChunk;
+    private boolean hasLastChunk;
+
+    public DryRunBlockPlacer(BlockRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public BlockRegistry getRegistry() {
+        return registry;
+    }
+
+    @Override
+    public void expect(long blocks) {
+        expected = blocks;
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, String blockType) {
+        registry.getId(blockType);
+        setBlock(x, y, z, 0);
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, int blockId) {
+        long key = ChunkBatchingBlockPlacer.chunkKey(x >> BITS, z >> BITS);
+        if (!hasLastChunk || key != lastChunk) {
+            chunks.add(key);
+            lastChunk = key;
+            hasLastChunk = true;
+        }
+        writes++;
+    }
+
+    @Override
+    public void fill(int x1, int y1, int z1, int x2, int y2, int z2, String blockType) {
+        if (x2 < x1 || y2 < y1 || z2 < z1) return;
+        registry.getId(blockType);
+        addChunks(x1, z1, x2, z2);
+        writes += (long) (x2 - x1 + 1) * (y2 - y1 + 1) * (z2 - z1 + 1);
+    }
+
+    @Override
+    public void stampColumns(int x1, int z1, int x2, int z2, ColumnProfile profile) {
+        if (x2 < x1 || z2 < z1 || profile.getRuns().isEmpty()) return;
+        for (ColumnProfile.Run run : profile.getRuns()) {
+            registry.getId(run.blockType());
+        }
+        addChunks(x1, z1, x2, z2);
+        writes += (long) (x2 - x1 + 1) * (z2 - z1 + 1) * profile.getHeight();
+    }
+
+    @Override
+    public long getBlockCount() {
+        return writes;
+    }
+
+    public long getWrites() { return writes; }
+    /** The generator's own up-front estimate, or -1 if it gave none. */
+    public long getExpected() { return expected; }
+    public int getChunkCount() { return chunks.size(); }
+
+    private void addChunks(int x1, int z1, int x2, int z2) {
+        for (int cx = x1 >> BITS; cx <= x2 >> BITS; cx++) {
+            for (int cz = z1 >> BITS; cz <= z2 >> BITS; cz++) {
+                chunks.add(ChunkBatchingBlockPlacer.chunkKey(cx, cz));
+            }
+        }
+    }
+}
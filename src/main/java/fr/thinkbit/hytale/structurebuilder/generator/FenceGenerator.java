@@ -1,35 +1,58 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
-
-import java.util.Map;
+import fr.thinkbit.hytale.structurebuilder.material.ResolvedPalette;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 public class FenceGenerator implements StructureGenerator {
 
+    private static final Param<Integer> WIDTH = Param.integer("width", "Width in X").withDefault(20).range(1, 256);
+    private static final Param<Integer> DEPTH = Param.integer("depth", "Depth in Z").withDefault(20).range(1, 256);
+    private static final Param<Integer> HEIGHT = Param.integer("height", "Height").withDefault(2).range(1, 256);
+    private static final Param<Boolean> GATE = Param.bool("gate", "Add gate").withDefault(true);
+    private static final Param<String> GATE_SIDE = Param.string("gateSide", "Gate side")
+            .withDefault("south").oneOf("north", "south", "east", "west");
+    private static final Param<Integer> GATE_WIDTH = Param.integer("gateWidth", "Gate width")
+            .withDefault(3).range(1, 256);
+    private static final Param<Boolean> POSTS = Param.bool("posts", "Add corner posts").withDefault(true);
+
+    private static final ParamSet PARAMS = ParamSet.of(
+            StructureParams.X, StructureParams.Y, StructureParams.Z,
+            WIDTH, DEPTH, HEIGHT, GATE, GATE_SIDE, GATE_WIDTH, POSTS)
+            .withCheck(FenceGenerator::checkHeight);
+
     @Override
     public String getType() {
         return "fence";
     }
 
     @Override
-    public StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
-        long start = System.currentTimeMillis();
+    public ParamSet getParams() {
+        return PARAMS;
+    }
 
-        int x = getInt(args, "x");
-        int y = getInt(args, "y");
-        int z = getInt(args, "z");
-        int width = getInt(args, "width", 20);   // X dimension
-        int depth = getInt(args, "depth", 20);    // Z dimension
-        int height = getInt(args, "height", 2);
-        boolean gate = getBool(args, "gate", true);
-        String gateSide = getString(args, "gateSide", "south");
-        int gateWidth = getInt(args, "gateWidth", 3);
-        boolean posts = getBool(args, "posts", true);
-
-        String wallBlock = palette.getWall();
-        String accentBlock = palette.getWallAccent();
-        String lanternBlock = palette.getLantern();
-        String foundationBlock = palette.getFoundation();
+    @Override
+    public StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer) {
+        long start = System.currentTimeMillis();
+        ResolvedPalette blocks = palette.resolve(placer.getRegistry());
+
+        int x = params.get(StructureParams.X);
+        int y = params.get(StructureParams.Y);
+        int z = params.get(StructureParams.Z);
+        int width = params.get(WIDTH);   // X dimension
+        int depth = params.get(DEPTH);    // Z dimension
+        int height = params.get(HEIGHT);
+        boolean gate = params.get(GATE);
+        String gateSide = params.get(GATE_SIDE);
+        int gateWidth = params.get(GATE_WIDTH);
+        boolean posts = params.get(POSTS);
+
+        int wallBlock = blocks.getWall();
+        int accentBlock = blocks.getWallAccent();
+        int lanternBlock = blocks.getLantern();
+        int foundationBlock = blocks.getFoundation();
 
         int maxY = y;
 
@@ -142,28 +165,15 @@ public class FenceGenerator implements StructureGenerator {
         );
     }
 
-    private int getInt(Map<String, Object> args, String key) {
-        Object val = args.get(key);
-        if (val == null) throw new IllegalArgumentException("Missing required parameter: " + key);
-        return ((Number) val).intValue();
-    }
-
-    private int getInt(Map<String, Object> args, String key, int defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return ((Number) val).intValue();
-    }
-
-    private String getString(Map<String, Object> args, String key, String defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return val.toString();
-    }
-
-    private boolean getBool(Map<String, Object> args, String key, boolean defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        if (val instanceof Boolean b) return b;
-        return Boolean.parseBoolean(val.toString());
+    // Corner posts end one block above the fence, gate lanterns three
+    private static String checkHeight(Params params) {
+        int y = params.get(StructureParams.Y);
+        int top = y + params.get(HEIGHT) - 1;
+        if (params.get(GATE)) {
+            top += 3;
+        } else if (params.get(POSTS)) {
+            top += 1;
+        }
+        return StructureParams.checkHeight(y, top);
     }
 }
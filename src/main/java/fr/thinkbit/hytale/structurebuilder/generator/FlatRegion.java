@@ -0,0 +1,73 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * An area of a world to be flattened lazily: instead of being written up
+ * front, each chunk of the area gets {@code profile} stamped on its columns
+ * when the world generates it. Bounds are inclusive.
+ */
+public record FlatRegion(String id, String world, int minX, int minZ, int maxX, int maxZ, ColumnProfile profile) {
+
+    public static FlatRegion of(String id, String world, FlatWorldGenerator.Plan plan) {
+        return new FlatRegion(id, world, plan.minX(), plan.minZ(), plan.maxX(), plan.maxZ(), plan.profile());
+    }
+
+    /**
+     * The part of this region inside chunk ({@code chunkX}, {@code chunkZ}),
+     * or null if the chunk lies outside it.
+     */
+    public Tile clipToChunk(int chunkX, int chunkZ) {
+        int bits = ChunkBatchingBlockPlacer.CHUNK_BITS;
+        int x1 = Math.max(minX, chunkX << bits);
+        int z1 = Math.max(minZ, chunkZ << bits);
+        int x2 = Math.min(maxX, (chunkX << bits) + ChunkBatchingBlockPlacer.CHUNK_MASK);
+        int z2 = Math.min(maxZ, (chunkZ << bits) + ChunkBatchingBlockPlacer.CHUNK_MASK);
+        return x1 <= x2 && z1 <= z2 ? new Tile(0, x1, z1, x2, z2) : null;
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", id);
+        json.addProperty("world", world);
+        json.addProperty("minX", minX);
+        json.addProperty("minZ", minZ);
+        json.addProperty("maxX", maxX);
+        json.addProperty("maxZ", maxZ);
+        JsonArray runs = new JsonArray();
+        for (ColumnProfile.Run run : profile.getRuns()) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("minY", run.minY());
+            entry.addProperty("maxY", run.maxY());
+            entry.addProperty("blockType", run.blockType());
+            runs.add(entry);
+        }
+        json.add("layers", runs);
+        return json;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a field is missing or the layers overlap
+     */
+    public static FlatRegion fromJson(JsonObject json) {
+        try {
+            var profile = new ColumnProfile.Builder();
+            for (JsonElement element : json.getAsJsonArray("layers")) {
+                JsonObject run = element.getAsJsonObject();
+                profile.run(run.get("minY").getAsInt(), run.get("maxY").getAsInt(), run.get("blockType").getAsString());
+            }
+            return new FlatRegion(
+                    json.get("id").getAsString(),
+                    json.get("world").getAsString(),
+                    json.get("minX").getAsInt(),
+                    json.get("minZ").getAsInt(),
+                    json.get("maxX").getAsInt(),
+                    json.get("maxZ").getAsInt(),
+                    profile.build());
+        } catch (NullPointerException | ClassCastException | IllegalStateException e) {
+            throw new IllegalArgumentException("Malformed flat region: " + json, e);
+        }
+    }
+}
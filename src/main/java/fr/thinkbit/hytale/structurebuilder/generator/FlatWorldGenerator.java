@@ -1,8 +1,11 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
-import java.util.Map;
+import java.util.List;
 
 /**
  * Generates a flat world area with proper terrain layers:
@@ -19,29 +22,64 @@ public class FlatWorldGenerator implements StructureGenerator {
     public static final String DEFAULT_SURFACE = "Soil_Dirt";
     public static final String AIR = "Empty";
 
+    private static final Param<Integer> X = Param.integer("x", "Center X coordinate");
+    private static final Param<Integer> Z = Param.integer("z", "Center Z coordinate");
+    private static final Param<Integer> RADIUS = Param.integer("radius",
+            "Half-size of the area. Area will be (2*radius+1) x (2*radius+1)")
+            .withDefault(100).range(0, 4096);
+    private static final Param<Integer> SURFACE_Y = Param.integer("surfaceY", "Height of the surface layer")
+            .withDefault(64).range(StructureParams.MIN_Y, StructureParams.MAX_Y);
+    private static final Param<Integer> DEPTH = Param.integer("depth", "Depth of terrain fill below surface")
+            .withDefault(10).range(1, StructureParams.MAX_Y);
+    private static final Param<Integer> CLEAR_HEIGHT = Param.integer("clearHeight",
+            "Height above surface to clear; columns are only cleared up to their tallest existing block")
+            .withDefault(60).range(0, StructureParams.MAX_Y);
+    private static final Param<String> STONE_BLOCK = Param.string("stoneBlock", "Block type for deep stone layer")
+            .withDefault(DEFAULT_STONE);
+    private static final Param<String> DIRT_BLOCK = Param.string("dirtBlock", "Block type for sub-surface dirt layer")
+            .withDefault(DEFAULT_DIRT);
+    private static final Param<String> SURFACE_BLOCK = Param.string("surfaceBlock", "Block type for surface")
+            .withDefault(DEFAULT_SURFACE);
+
+    private static final ParamSet PARAMS = ParamSet.of(
+            X, Z, RADIUS, SURFACE_Y, DEPTH, CLEAR_HEIGHT, STONE_BLOCK, DIRT_BLOCK, SURFACE_BLOCK)
+            .withCheck(params -> StructureParams.checkHeight(
+                    params.get(SURFACE_Y) - params.get(DEPTH), params.get(SURFACE_Y) + params.get(CLEAR_HEIGHT)));
+
     @Override
     public String getType() {
         return "flat_world";
     }
 
     @Override
-    public StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
+    public ParamSet getParams() {
+        return PARAMS;
+    }
+
+    @Override
+    public StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer) {
         long start = System.currentTimeMillis();
+        Plan plan = plan(params);
+        // Custom block names fail here, before anything is staged
+        for (ColumnProfile.Run run : plan.profile().getRuns()) {
+            placer.getRegistry().getId(run.blockType());
+        }
+        placer.expect(plan.getArea() * plan.profile().getHeight());
+        placer.stampColumns(plan.minX(), plan.minZ(), plan.maxX(), plan.maxZ(), plan.profile());
+        return plan.toResult(placer.getBlockCount(), System.currentTimeMillis() - start);
+    }
 
-        int centerX = getInt(args, "x");
-        int centerZ = getInt(args, "z");
-        int radius = getInt(args, "radius", 100);
-        int surfaceY = getInt(args, "surfaceY", 64);
-        int depth = getInt(args, "depth", 10);        // how deep below surface to fill
-        int clearHeight = getInt(args, "clearHeight", 60); // how high above surface to clear
-        String stoneBlock = getString(args, "stoneBlock", DEFAULT_STONE);
-        String dirtBlock = getString(args, "dirtBlock", DEFAULT_DIRT);
-        String surfaceBlock = getString(args, "surfaceBlock", DEFAULT_SURFACE);
-
-        int x1 = centerX - radius;
-        int x2 = centerX + radius;
-        int z1 = centerZ - radius;
-        int z2 = centerZ + radius;
+    /**
+     * Computes the area and column profile for {@code params}, without
+     * staging anything, so the area can be staged tile by tile.
+     */
+    public Plan plan(Params params) {
+        int centerX = params.get(X);
+        int centerZ = params.get(Z);
+        int radius = params.get(RADIUS);
+        int surfaceY = params.get(SURFACE_Y);
+        int depth = params.get(DEPTH);        // how deep below surface to fill
+        int clearHeight = params.get(CLEAR_HEIGHT); // how high above surface to clear
 
         int bottomY = surfaceY - depth;
         int topY = surfaceY + clearHeight;
@@ -50,52 +88,63 @@ public class FlatWorldGenerator implements StructureGenerator {
         int dirtThickness = Math.min(3, depth);
         int dirtStartY = surfaceY - dirtThickness;
 
-        for (int x = x1; x <= x2; x++) {
-            for (int z = z1; z <= z2; z++) {
-                // Stone layer (deep)
-                for (int y = bottomY; y < dirtStartY; y++) {
-                    placer.setBlock(x, y, z, stoneBlock);
-                }
-
-                // Dirt layer (sub-surface)
-                for (int y = dirtStartY; y < surfaceY; y++) {
-                    placer.setBlock(x, y, z, dirtBlock);
-                }
-
-                // Surface layer
-                placer.setBlock(x, surfaceY, z, surfaceBlock);
-
-                // Clear above (remove structures, trees, etc.)
-                for (int y = surfaceY + 1; y <= topY; y++) {
-                    placer.setBlock(x, y, z, AIR);
-                }
-            }
+        // Every column is identical: build the profile once and stamp it
+        ColumnProfile profile = buildProfile(bottomY, dirtStartY, surfaceY, topY,
+                params.get(STONE_BLOCK), params.get(DIRT_BLOCK), params.get(SURFACE_BLOCK));
+        return new Plan(centerX - radius, centerZ - radius, centerX + radius, centerZ + radius, profile);
+    }
+
+    /**
+     * One flat-world request: the area, the profile stamped on every column
+     * and how it splits into {@link Tile#DEFAULT_CHUNKS}-chunk tiles, in a
+     * spiral from the center.
+     */
+    public record Plan(int minX, int minZ, int maxX, int maxZ, ColumnProfile profile) implements TiledGeneration {
+
+        @Override
+        public List<Tile> getTiles() {
+            // Center first: the area players are waiting on is usable soonest, and a
+            // cancelled or interrupted build leaves a finished square around it
+            return Tile.splitSpiral(minX, minZ, maxX, maxZ, Tile.DEFAULT_CHUNKS,
+                    (int) (((long) minX + maxX) >> 1), (int) (((long) minZ + maxZ) >> 1));
         }
 
-        long elapsed = System.currentTimeMillis() - start;
-        return new StructureResult(
-                placer.getBlockCount(),
-                x1, bottomY, z1,
-                x2, topY, z2,
-                elapsed, "flat_world"
-        );
-    }
+        public long getArea() {
+            return (long) (maxX - minX + 1) * (maxZ - minZ + 1);
+        }
 
-    private int getInt(Map<String, Object> args, String key) {
-        Object val = args.get(key);
-        if (val == null) throw new IllegalArgumentException("Missing required parameter: " + key);
-        return ((Number) val).intValue();
-    }
+        @Override
+        public long getExpectedBlocks(Tile tile) {
+            return tile.getArea() * profile.getHeight();
+        }
 
-    private int getInt(Map<String, Object> args, String key, int defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return ((Number) val).intValue();
+        @Override
+        public void generateTile(Tile tile, BlockPlacer placer) {
+            placer.stampColumns(tile.minX(), tile.minZ(), tile.maxX(), tile.maxZ(), profile);
+        }
+
+        @Override
+        public StructureResult toResult(long blocksPlaced, long buildTimeMs) {
+            return new StructureResult(
+                    blocksPlaced,
+                    minX, profile.getMinY(), minZ,
+                    maxX, profile.getMaxY(), maxZ,
+                    buildTimeMs, "flat_world"
+            );
+        }
     }
 
-    private String getString(Map<String, Object> args, String key, String defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return val.toString();
+    /**
+     * Column from {@code bottomY} to {@code topY}: stone, dirt, one surface
+     * block, then air to clear everything above.
+     */
+    public static ColumnProfile buildProfile(int bottomY, int dirtStartY, int surfaceY, int topY,
+                                             String stoneBlock, String dirtBlock, String surfaceBlock) {
+        return new ColumnProfile.Builder()
+                .run(bottomY, dirtStartY - 1, stoneBlock)     // Stone layer (deep)
+                .run(dirtStartY, surfaceY - 1, dirtBlock)     // Dirt layer (sub-surface)
+                .run(surfaceY, surfaceY, surfaceBlock)        // Surface layer
+                .run(surfaceY + 1, topY, AIR)                 // Clear above (structures, trees, etc.)
+                .build();
     }
 }
@@ -1,38 +1,64 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
-
-import java.util.Map;
+import fr.thinkbit.hytale.structurebuilder.material.ResolvedPalette;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 public class HouseGenerator implements StructureGenerator {
 
+    private static final Param<Integer> WIDTH = Param.integer("width", "Width in X").withDefault(10).range(1, 256);
+    private static final Param<Integer> DEPTH = Param.integer("depth", "Depth in Z").withDefault(8).range(1, 256);
+    private static final Param<Integer> FLOORS = Param.integer("floors", "Number of floors")
+            .withDefault(1).range(1, 16);
+    private static final Param<Integer> FLOOR_HEIGHT = Param.integer("floorHeight", "Wall height per floor")
+            .withDefault(4).range(1, 32);
+    private static final Param<String> ROOF_STYLE = Param.string("roofStyle", "Roof style")
+            .withDefault("gable").oneOf("flat", "gable", "hip");
+    private static final Param<Boolean> FURNITURE = Param.bool("furniture", "Add furniture").withDefault(true);
+    private static final Param<Boolean> WINDOWS = Param.bool("windows", "Add windows").withDefault(true);
+    private static final Param<String> DOOR_SIDE = Param.string("doorSide", "Door side")
+            .withDefault("south").oneOf("north", "south", "east", "west");
+
+    private static final ParamSet PARAMS = ParamSet.of(
+            StructureParams.X, StructureParams.Y, StructureParams.Z,
+            WIDTH, DEPTH, FLOORS, FLOOR_HEIGHT, ROOF_STYLE, FURNITURE, WINDOWS, DOOR_SIDE)
+            .withCheck(HouseGenerator::checkHeight);
+
     @Override
     public String getType() {
         return "house";
     }
 
     @Override
-    public StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
-        long start = System.currentTimeMillis();
+    public ParamSet getParams() {
+        return PARAMS;
+    }
 
-        int x = getInt(args, "x");
-        int y = getInt(args, "y");
-        int z = getInt(args, "z");
-        int width = getInt(args, "width", 10);       // X dimension
-        int depth = getInt(args, "depth", 8);         // Z dimension
-        int floors = getInt(args, "floors", 1);
-        int floorHeight = getInt(args, "floorHeight", 4); // wall height per floor (not counting floor slab)
-        String roofStyle = getString(args, "roofStyle", "gable"); // flat, gable, hip
-        boolean furniture = getBool(args, "furniture", true);
-        boolean windows = getBool(args, "windows", true);
-        String doorSide = getString(args, "doorSide", "south"); // north, south, east, west
+    @Override
+    public StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer) {
+        long start = System.currentTimeMillis();
+        ResolvedPalette blocks = palette.resolve(placer.getRegistry());
+
+        int x = params.get(StructureParams.X);
+        int y = params.get(StructureParams.Y);
+        int z = params.get(StructureParams.Z);
+        int width = params.get(WIDTH);       // X dimension
+        int depth = params.get(DEPTH);         // Z dimension
+        int floors = params.get(FLOORS);
+        int floorHeight = params.get(FLOOR_HEIGHT); // wall height per floor (not counting floor slab)
+        String roofStyle = params.get(ROOF_STYLE);
+        boolean furniture = params.get(FURNITURE);
+        boolean windows = params.get(WINDOWS);
+        String doorSide = params.get(DOOR_SIDE);
 
         int maxY = y;
 
         // 1. Foundation
         for (int dx = 0; dx < width; dx++) {
             for (int dz = 0; dz < depth; dz++) {
-                placer.setBlock(x + dx, y, z + dz, palette.getFoundation());
+                placer.setBlock(x + dx, y, z + dz, blocks.getFoundation());
             }
         }
 
@@ -40,16 +66,16 @@ public class HouseGenerator implements StructureGenerator {
         int currentY = y + 1;
         for (int floor = 0; floor < floors; floor++) {
             // Walls
-            buildFloorWalls(placer, x, currentY, z, width, depth, floorHeight, palette);
+            buildFloorWalls(placer, x, currentY, z, width, depth, floorHeight, blocks);
 
             // Windows
             if (windows) {
-                buildWindows(placer, x, currentY, z, width, depth, floorHeight);
+                buildWindows(placer, x, currentY, z, width, depth, floorHeight, blocks.getAir());
             }
 
             // Door (ground floor only)
             if (floor == 0) {
-                buildDoor(placer, x, currentY, z, width, depth, doorSide);
+                buildDoor(placer, x, currentY, z, width, depth, doorSide, blocks.getAir());
             }
 
             // Floor/ceiling slab (between floors, not below first floor)
@@ -57,7 +83,7 @@ public class HouseGenerator implements StructureGenerator {
                 int slabY = currentY + floorHeight;
                 for (int dx = 0; dx < width; dx++) {
                     for (int dz = 0; dz < depth; dz++) {
-                        placer.setBlock(x + dx, slabY, z + dz, palette.getFloor());
+                        placer.setBlock(x + dx, slabY, z + dz, blocks.getFloor());
                     }
                 }
                 maxY = Math.max(maxY, slabY);
@@ -65,13 +91,13 @@ public class HouseGenerator implements StructureGenerator {
 
             // Furniture (ground floor)
             if (furniture && floor == 0) {
-                buildFurniture(placer, x, currentY, z, width, depth, palette);
+                buildFurniture(placer, x, currentY, z, width, depth, blocks);
             }
 
             // Ladder for multi-floor
             if (floors > 1) {
                 for (int h = 0; h < floorHeight; h++) {
-                    placer.setBlock(x + width - 2, currentY + h, z + 1, palette.getLadder());
+                    placer.setBlock(x + width - 2, currentY + h, z + 1, blocks.getLadder());
                 }
             }
 
@@ -88,10 +114,10 @@ public class HouseGenerator implements StructureGenerator {
         roofBaseY = lastFloorStart + floorHeight;
 
         // 3. Roof
-        maxY = buildRoof(placer, x, roofBaseY, z, width, depth, roofStyle, palette);
+        maxY = buildRoof(placer, x, roofBaseY, z, width, depth, roofStyle, blocks);
 
         // 4. Door step
-        buildDoorStep(placer, x, y, z, width, depth, doorSide, palette);
+        buildDoorStep(placer, x, y, z, width, depth, doorSide, blocks);
 
         long elapsed = System.currentTimeMillis() - start;
         return new StructureResult(
@@ -103,9 +129,9 @@ public class HouseGenerator implements StructureGenerator {
     }
 
     private void buildFloorWalls(BlockPlacer placer, int x, int baseY, int z,
-                                 int width, int depth, int height, MaterialPalette palette) {
-        String wall = palette.getWall();
-        String accent = palette.getWallAccent();
+                                 int width, int depth, int height, ResolvedPalette blocks) {
+        int wall = blocks.getWall();
+        int accent = blocks.getWallAccent();
 
         for (int h = 0; h < height; h++) {
             int by = baseY + h;
@@ -124,7 +150,7 @@ public class HouseGenerator implements StructureGenerator {
     }
 
     private void buildWindows(BlockPlacer placer, int x, int baseY, int z,
-                              int width, int depth, int height) {
+                              int width, int depth, int height, int air) {
         // Windows at height 1-2 relative to floor base
         int winLow = baseY + 1;
         int winHigh = baseY + 2;
@@ -133,28 +159,28 @@ public class HouseGenerator implements StructureGenerator {
 
         // North wall (z=0): windows spaced along X
         for (int dx = 2; dx < width - 2; dx += 3) {
-            placer.setBlock(x + dx, winLow, z, MaterialPalette.AIR);
-            placer.setBlock(x + dx, winHigh, z, MaterialPalette.AIR);
+            placer.setBlock(x + dx, winLow, z, air);
+            placer.setBlock(x + dx, winHigh, z, air);
         }
         // South wall (z=depth-1)
         for (int dx = 2; dx < width - 2; dx += 3) {
-            placer.setBlock(x + dx, winLow, z + depth - 1, MaterialPalette.AIR);
-            placer.setBlock(x + dx, winHigh, z + depth - 1, MaterialPalette.AIR);
+            placer.setBlock(x + dx, winLow, z + depth - 1, air);
+            placer.setBlock(x + dx, winHigh, z + depth - 1, air);
         }
         // West wall (x=0)
         for (int dz = 2; dz < depth - 2; dz += 3) {
-            placer.setBlock(x, winLow, z + dz, MaterialPalette.AIR);
-            placer.setBlock(x, winHigh, z + dz, MaterialPalette.AIR);
+            placer.setBlock(x, winLow, z + dz, air);
+            placer.setBlock(x, winHigh, z + dz, air);
         }
         // East wall (x=width-1)
         for (int dz = 2; dz < depth - 2; dz += 3) {
-            placer.setBlock(x + width - 1, winLow, z + dz, MaterialPalette.AIR);
-            placer.setBlock(x + width - 1, winHigh, z + dz, MaterialPalette.AIR);
+            placer.setBlock(x + width - 1, winLow, z + dz, air);
+            placer.setBlock(x + width - 1, winHigh, z + dz, air);
         }
     }
 
     private void buildDoor(BlockPlacer placer, int x, int baseY, int z,
-                           int width, int depth, String side) {
+                           int width, int depth, String side, int air) {
         int doorX, doorZ;
         switch (side) {
             case "north" -> { doorX = x + width / 2; doorZ = z; }
@@ -163,13 +189,13 @@ public class HouseGenerator implements StructureGenerator {
             default -> { doorX = x + width / 2; doorZ = z + depth - 1; } // south
         }
         // 1x3 door opening
-        placer.setBlock(doorX, baseY, doorZ, MaterialPalette.AIR);
-        placer.setBlock(doorX, baseY + 1, doorZ, MaterialPalette.AIR);
-        placer.setBlock(doorX, baseY + 2, doorZ, MaterialPalette.AIR);
+        placer.setBlock(doorX, baseY, doorZ, air);
+        placer.setBlock(doorX, baseY + 1, doorZ, air);
+        placer.setBlock(doorX, baseY + 2, doorZ, air);
     }
 
     private void buildDoorStep(BlockPlacer placer, int x, int y, int z,
-                               int width, int depth, String side, MaterialPalette palette) {
+                               int width, int depth, String side, ResolvedPalette blocks) {
         int stepX, stepZ;
         switch (side) {
             case "north" -> { stepX = x + width / 2; stepZ = z - 1; }
@@ -177,40 +203,40 @@ public class HouseGenerator implements StructureGenerator {
             case "west" -> { stepX = x - 1; stepZ = z + depth / 2; }
             default -> { stepX = x + width / 2; stepZ = z + depth; } // south
         }
-        placer.setBlock(stepX, y, stepZ, palette.getFoundation());
+        placer.setBlock(stepX, y, stepZ, blocks.getFoundation());
     }
 
     private void buildFurniture(BlockPlacer placer, int x, int baseY, int z,
-                                int width, int depth, MaterialPalette palette) {
+                                int width, int depth, ResolvedPalette blocks) {
         // Place furniture in the interior (offset 2 from walls)
         int interiorX = x + 2;
         int interiorZ = z + 2;
 
         // Table + chairs in center-ish area
         if (width >= 6 && depth >= 6) {
-            placer.setBlock(interiorX, baseY, interiorZ, palette.getTable());
-            placer.setBlock(interiorX + 1, baseY, interiorZ, palette.getChair());
-            placer.setBlock(interiorX - 1, baseY, interiorZ, palette.getChair());
+            placer.setBlock(interiorX, baseY, interiorZ, blocks.getTable());
+            placer.setBlock(interiorX + 1, baseY, interiorZ, blocks.getChair());
+            placer.setBlock(interiorX - 1, baseY, interiorZ, blocks.getChair());
         }
 
         // Bed in corner
         if (width >= 6 && depth >= 6) {
-            placer.setBlock(x + width - 3, baseY, z + depth - 3, palette.getBed());
+            placer.setBlock(x + width - 3, baseY, z + depth - 3, blocks.getBed());
         }
 
         // Lantern
-        placer.setBlock(interiorX, baseY, z + depth - 3, palette.getLantern());
+        placer.setBlock(interiorX, baseY, z + depth - 3, blocks.getLantern());
 
         // Chest
         if (width >= 8) {
-            placer.setBlock(x + 1, baseY, z + 1, palette.getChest());
+            placer.setBlock(x + 1, baseY, z + 1, blocks.getChest());
         }
     }
 
     private int buildRoof(BlockPlacer placer, int x, int roofY, int z,
-                          int width, int depth, String style, MaterialPalette palette) {
-        String roof = palette.getRoof();
-        String trim = palette.getRoofTrim();
+                          int width, int depth, String style, ResolvedPalette blocks) {
+        int roof = blocks.getRoof();
+        int trim = blocks.getRoofTrim();
         int maxY = roofY;
 
         switch (style) {
@@ -266,8 +292,8 @@ public class HouseGenerator implements StructureGenerator {
                     // Gable end walls (triangular fill at x=0 and x=width-1)
                     if (layer > 0 && zStart < zEnd) {
                         for (int dz = zStart + 1; dz < zEnd; dz++) {
-                            placer.setBlock(x, layerY, dz, palette.getWall());
-                            placer.setBlock(x + width - 1, layerY, dz, palette.getWall());
+                            placer.setBlock(x, layerY, dz, blocks.getWall());
+                            placer.setBlock(x + width - 1, layerY, dz, blocks.getWall());
                         }
                     }
                 }
@@ -277,28 +303,16 @@ public class HouseGenerator implements StructureGenerator {
         return maxY;
     }
 
-    private int getInt(Map<String, Object> args, String key) {
-        Object val = args.get(key);
-        if (val == null) throw new IllegalArgumentException("Missing required parameter: " + key);
-        return ((Number) val).intValue();
-    }
-
-    private int getInt(Map<String, Object> args, String key, int defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return ((Number) val).intValue();
-    }
-
-    private String getString(Map<String, Object> args, String key, String defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return val.toString();
-    }
-
-    private boolean getBool(Map<String, Object> args, String key, boolean defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        if (val instanceof Boolean b) return b;
-        return Boolean.parseBoolean(val.toString());
+    // Same floor stacking as generate, plus the tallest the chosen roof gets
+    private static String checkHeight(Params params) {
+        int y = params.get(StructureParams.Y);
+        int floorHeight = params.get(FLOOR_HEIGHT);
+        int roofY = y + 1 + (params.get(FLOORS) - 1) * (floorHeight + 1) + floorHeight;
+        int roofHeight = switch (params.get(ROOF_STYLE)) {
+            case "flat" -> 0;
+            case "hip" -> (Math.min(params.get(WIDTH), params.get(DEPTH)) + 1) / 2 - 1;
+            default -> (params.get(DEPTH) - 1) / 2;
+        };
+        return StructureParams.checkHeight(y, roofY + roofHeight);
     }
 }
@@ -1,28 +1,46 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
-
-import java.util.Map;
+import fr.thinkbit.hytale.structurebuilder.material.ResolvedPalette;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 public class PlatformGenerator implements StructureGenerator {
 
+    private static final Param<Integer> WIDTH = Param.integer("width", "Width in X").withDefault(10).range(1, 256);
+    private static final Param<Integer> DEPTH = Param.integer("depth", "Depth in Z").withDefault(10).range(1, 256);
+    private static final Param<Integer> THICKNESS = Param.integer("thickness", "Thickness").withDefault(1).range(1, 16);
+
+    private static final ParamSet PARAMS = ParamSet.of(
+            StructureParams.X, StructureParams.Y, StructureParams.Z, WIDTH, DEPTH, THICKNESS)
+            .withCheck(params -> StructureParams.checkHeight(params.get(StructureParams.Y),
+                    params.get(StructureParams.Y) + params.get(THICKNESS) - 1));
+
     @Override
     public String getType() {
         return "platform";
     }
 
     @Override
-    public StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
+    public ParamSet getParams() {
+        return PARAMS;
+    }
+
+    @Override
+    public StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer) {
         long start = System.currentTimeMillis();
+        ResolvedPalette blocks = palette.resolve(placer.getRegistry());
 
-        int x = getInt(args, "x");
-        int y = getInt(args, "y");
-        int z = getInt(args, "z");
-        int width = getInt(args, "width", 10);
-        int depth = getInt(args, "depth", 10);
-        int thickness = getInt(args, "thickness", 1);
+        int x = params.get(StructureParams.X);
+        int y = params.get(StructureParams.Y);
+        int z = params.get(StructureParams.Z);
+        int width = params.get(WIDTH);
+        int depth = params.get(DEPTH);
+        int thickness = params.get(THICKNESS);
 
-        String block = palette.getFoundation();
+        int block = blocks.getFoundation();
+        placer.expect((long) width * depth * thickness);
 
         for (int dy = 0; dy < thickness; dy++) {
             for (int dx = 0; dx < width; dx++) {
@@ -40,16 +58,4 @@ public class PlatformGenerator implements StructureGenerator {
                 elapsed, "platform"
         );
     }
-
-    private int getInt(Map<String, Object> args, String key) {
-        Object val = args.get(key);
-        if (val == null) throw new IllegalArgumentException("Missing required parameter: " + key);
-        return ((Number) val).intValue();
-    }
-
-    private int getInt(Map<String, Object> args, String key, int defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return ((Number) val).intValue();
-    }
 }
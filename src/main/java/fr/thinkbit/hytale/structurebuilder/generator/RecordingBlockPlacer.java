@@ -1,48 +1,238 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+/**
+ * Records every write in placement order, for tests, previews and dry runs.
+ * <p>
+ * Storage is packed so multi-million block areas stay cheap: each position is
+ * one {@code long} (26 bits X, 26 bits Z, 12 bits Y, all signed) and each block
+ * type a {@code short} index into a small per-recorder palette.
+ * {@link PlacedBlock} records are only created when {@link #getBlocks()} is read.
+ * <p>
+ * Queries answer for the final state: an open-addressing hash from packed
+ * position to the last block written there, plus a counter per block type,
+ * keeps {@link #hasBlockAt} and {@link #countBlocksOfType} O(1).
+ */
 public class RecordingBlockPlacer implements BlockPlacer {
 
     public record PlacedBlock(int x, int y, int z, String blockType) {}
 
-    private final List<PlacedBlock> blocks = new ArrayList<>();
+    private static final int XZ_BITS = 26;
+    private static final int Y_BITS = 12;
+    // Index slots store type + 1 in an unsigned short, 0 meaning empty
+    private static final int MAX_TYPES = (1 << 16) - 1;
+
+    private long[] positions = new long[256];
+    private short[] types = new short[256];
+    private int size;
+
+    // Final block per position
+    private long[] indexKeys = new long[512];
+    private short[] indexTypes = new short[512];
+    private int indexSize;
+    // Final number of positions holding each palette type
+    private long[] typeCounts = new long[8];
+
+    private final List<String> palette = new ArrayList<>();
+    private final Map<String, Integer> paletteIndex = new HashMap<>();
+    // Writes mostly repeat the previous block type
+    private String lastType;
+    private int lastIndex;
 
     @Override
     public void setBlock(int x, int y, int z, String blockType) {
-        blocks.add(new PlacedBlock(x, y, z, blockType));
+        record(pack(x, y, z), indexOf(blockType));
     }
 
+    /**
+     * Records the whole box with a single palette lookup.
+     */
     @Override
-    public int getBlockCount() {
-        return blocks.size();
+    public void fill(int x1, int y1, int z1, int x2, int y2, int z2, String blockType) {
+        int type = indexOf(blockType);
+        for (int x = x1; x <= x2; x++) {
+            for (int z = z1; z <= z2; z++) {
+                for (int y = y1; y <= y2; y++) {
+                    record(pack(x, y, z), type);
+                }
+            }
+        }
     }
 
+    @Override
+    public long getBlockCount() {
+        return size;
+    }
+
+    /**
+     * Read-only view of the recorded writes, in placement order.
+     */
     public List<PlacedBlock> getBlocks() {
-        return Collections.unmodifiableList(blocks);
+        return new BlockView();
     }
 
     public boolean hasBlockAt(int x, int y, int z, String blockType) {
-        return blocks.stream().anyMatch(b -> b.x == x && b.y == y && b.z == z && b.blockType.equals(blockType));
+        Integer type = paletteIndex.get(blockType);
+        return type != null && finalTypeAt(pack(x, y, z)) == type;
     }
 
     public boolean hasBlockAt(int x, int y, int z) {
-        return blocks.stream().anyMatch(b -> b.x == x && b.y == y && b.z == z);
+        return finalTypeAt(pack(x, y, z)) >= 0;
     }
 
     public boolean hasAnyBlockOfType(String blockType) {
-        return blocks.stream().anyMatch(b -> b.blockType.equals(blockType));
+        return countBlocksOfType(blockType) > 0;
     }
 
     public Set<String> getBlockTypesUsed() {
-        return blocks.stream().map(PlacedBlock::blockType).collect(Collectors.toSet());
+        Set<String> used = new LinkedHashSet<>();
+        for (int t = 0; t < palette.size(); t++) {
+            if (typeCounts[t] > 0) used.add(palette.get(t));
+        }
+        return used;
     }
 
     public long countBlocksOfType(String blockType) {
-        return blocks.stream().filter(b -> b.blockType.equals(blockType)).count();
+        Integer type = paletteIndex.get(blockType);
+        return type != null ? typeCounts[type] : 0;
+    }
+
+    /**
+     * Number of distinct positions written, i.e. blocks in the final result.
+     */
+    public int getPositionCount() {
+        return indexSize;
+    }
+
+    private void record(long pos, int type) {
+        if (size == positions.length) {
+            int capacity = size + (size >> 1);
+            positions = Arrays.copyOf(positions, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+        positions[size] = pos;
+        types[size] = (short) type;
+        size++;
+        index(pos, type);
+    }
+
+    private void index(long pos, int type) {
+        int mask = indexKeys.length - 1;
+        int slot = slot(pos, mask);
+        while (indexTypes[slot] != 0) {
+            if (indexKeys[slot] == pos) {
+                typeCounts[Short.toUnsignedInt(indexTypes[slot]) - 1]--;
+                indexTypes[slot] = (short) (type + 1);
+                typeCounts[type]++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        indexKeys[slot] = pos;
+        indexTypes[slot] = (short) (type + 1);
+        typeCounts[type]++;
+        // Keep the load factor under 3/4
+        if (++indexSize * 4 > indexKeys.length * 3) {
+            rehash();
+        }
+    }
+
+    private int finalTypeAt(long pos) {
+        int mask = indexKeys.length - 1;
+        for (int slot = slot(pos, mask); indexTypes[slot] != 0; slot = (slot + 1) & mask) {
+            if (indexKeys[slot] == pos) return Short.toUnsignedInt(indexTypes[slot]) - 1;
+        }
+        return -1;
+    }
+
+    private void rehash() {
+        long[] oldKeys = indexKeys;
+        short[] oldTypes = indexTypes;
+        indexKeys = new long[oldKeys.length * 2];
+        indexTypes = new short[oldKeys.length * 2];
+        int mask = indexKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldTypes[i] == 0) continue;
+            int slot = slot(oldKeys[i], mask);
+            while (indexTypes[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            indexKeys[slot] = oldKeys[i];
+            indexTypes[slot] = oldTypes[i];
+        }
+    }
+
+    private static int slot(long pos, int mask) {
+        return (int) ((pos * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private int indexOf(String blockType) {
+        if (blockType.equals(lastType)) return lastIndex;
+        Integer index = paletteIndex.get(blockType);
+        if (index == null) {
+            if (palette.size() == MAX_TYPES) {
+                throw new IllegalStateException("Too many block types to record: " + MAX_TYPES);
+            }
+            index = palette.size();
+            palette.add(blockType);
+            if (index == typeCounts.length) {
+                typeCounts = Arrays.copyOf(typeCounts, index * 2);
+            }
+            paletteIndex.put(blockType, index);
+        }
+        lastType = blockType;
+        lastIndex = index;
+        return index;
+    }
+
+    static long pack(int x, int y, int z) {
+        if (x >> (XZ_BITS - 1) != x >> 31 || z >> (XZ_BITS - 1) != z >> 31 || y >> (Y_BITS - 1) != y >> 31) {
+            throw new IllegalArgumentException("Position out of recordable range: " + x + ", " + y + ", " + z);
+        }
+        return ((long) x << (64 - XZ_BITS))
+                | (((long) z & ((1L << XZ_BITS) - 1)) << Y_BITS)
+                | (y & ((1L << Y_BITS) - 1));
+    }
+
+    static int unpackX(long pos) {
+        return (int) (pos >> (64 - XZ_BITS));
+    }
+
+    static int unpackZ(long pos) {
+        return (int) (pos << (64 - XZ_BITS - Y_BITS) >> (64 - XZ_BITS));
+    }
+
+    static int unpackY(long pos) {
+        return (int) (pos << (64 - Y_BITS) >> (64 - Y_BITS));
+    }
+
+    private final class BlockView extends AbstractList<PlacedBlock> implements RandomAccess {
+
+        // Snapshot the size so the view stays consistent while recording continues
+        private final int count = size;
+
+        @Override
+        public PlacedBlock get(int i) {
+            if (i < 0 || i >= count) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", size: " + count);
+            }
+            long pos = positions[i];
+            return new PlacedBlock(unpackX(pos), unpackY(pos), unpackZ(pos),
+                    palette.get(Short.toUnsignedInt(types[i])));
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
     }
 }
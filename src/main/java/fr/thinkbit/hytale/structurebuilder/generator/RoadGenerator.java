@@ -1,34 +1,57 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
-
-import java.util.Map;
+import fr.thinkbit.hytale.structurebuilder.material.ResolvedPalette;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 public class RoadGenerator implements StructureGenerator {
 
+    private static final Param<Integer> LENGTH = Param.integer("length", "Length").withDefault(20).range(1, 256);
+    private static final Param<Integer> WIDTH = Param.integer("width", "Width in X").withDefault(5).range(1, 256);
+    private static final Param<String> DIRECTION = Param.string("direction", "Direction")
+            .withDefault("x").oneOf("x", "z");
+    private static final Param<Boolean> BORDERS = Param.bool("borders", "Add border curbs").withDefault(true);
+    private static final Param<Boolean> LANTERNS = Param.bool("lanterns", "Add lanterns").withDefault(false);
+    private static final Param<Integer> LANTERN_SPACING = Param.integer("lanternSpacing", "Spacing between lanterns")
+            .withDefault(8).range(1, 256);
+
+    private static final ParamSet PARAMS = ParamSet.of(
+            StructureParams.X, StructureParams.Y, StructureParams.Z,
+            LENGTH, WIDTH, DIRECTION, BORDERS, LANTERNS, LANTERN_SPACING)
+            .withCheck(params -> StructureParams.checkHeight(params.get(StructureParams.Y),
+                    params.get(StructureParams.Y) + (params.get(LANTERNS) ? 3 : 0)));
+
     @Override
     public String getType() {
         return "road";
     }
 
     @Override
-    public StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
-        long start = System.currentTimeMillis();
+    public ParamSet getParams() {
+        return PARAMS;
+    }
 
-        int x = getInt(args, "x");
-        int y = getInt(args, "y");
-        int z = getInt(args, "z");
-        int length = getInt(args, "length", 20);
-        int width = getInt(args, "width", 5);
-        String direction = getString(args, "direction", "x");
-        boolean borders = getBool(args, "borders", true);
-        boolean lanterns = getBool(args, "lanterns", false);
-        int lanternSpacing = getInt(args, "lanternSpacing", 8);
-
-        String floorBlock = palette.getFloor();
-        String foundationBlock = palette.getFoundation();
-        String accentBlock = palette.getWallAccent();
-        String lanternBlock = palette.getLantern();
+    @Override
+    public StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer) {
+        long start = System.currentTimeMillis();
+        ResolvedPalette blocks = palette.resolve(placer.getRegistry());
+
+        int x = params.get(StructureParams.X);
+        int y = params.get(StructureParams.Y);
+        int z = params.get(StructureParams.Z);
+        int length = params.get(LENGTH);
+        int width = params.get(WIDTH);
+        String direction = params.get(DIRECTION);
+        boolean borders = params.get(BORDERS);
+        boolean lanterns = params.get(LANTERNS);
+        int lanternSpacing = params.get(LANTERN_SPACING);
+
+        int floorBlock = blocks.getFloor();
+        int foundationBlock = blocks.getFoundation();
+        int accentBlock = blocks.getWallAccent();
+        int lanternBlock = blocks.getLantern();
 
         int maxX = x, maxY = y, maxZ = z;
 
@@ -53,7 +76,7 @@ public class RoadGenerator implements StructureGenerator {
         if (borders) {
             for (int l = 0; l < length; l++) {
                 // Alternating block types for visual interest
-                String borderBlock = (l % 2 == 0) ? foundationBlock : accentBlock;
+                int borderBlock = (l % 2 == 0) ? foundationBlock : accentBlock;
 
                 int bx1, bz1, bx2, bz2;
                 if ("x".equals(direction)) {
@@ -102,29 +125,4 @@ public class RoadGenerator implements StructureGenerator {
                 elapsed, "road"
         );
     }
-
-    private int getInt(Map<String, Object> args, String key) {
-        Object val = args.get(key);
-        if (val == null) throw new IllegalArgumentException("Missing required parameter: " + key);
-        return ((Number) val).intValue();
-    }
-
-    private int getInt(Map<String, Object> args, String key, int defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return ((Number) val).intValue();
-    }
-
-    private String getString(Map<String, Object> args, String key, String defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return val.toString();
-    }
-
-    private boolean getBool(Map<String, Object> args, String key, boolean defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        if (val instanceof Boolean b) return b;
-        return Boolean.parseBoolean(val.toString());
-    }
 }
@@ -1,32 +1,53 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
-
-import java.util.Map;
+import fr.thinkbit.hytale.structurebuilder.material.ResolvedPalette;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 public class StaircaseGenerator implements StructureGenerator {
 
+    private static final Param<Integer> HEIGHT = Param.integer("height", "Height").withDefault(8).range(1, 256);
+    private static final Param<Integer> WIDTH = Param.integer("width", "Width in X").withDefault(3).range(1, 256);
+    private static final Param<String> STYLE = Param.string("style", "Staircase style")
+            .withDefault("straight").oneOf("straight", "spiral");
+    private static final Param<String> DIRECTION = Param.string("direction", "Direction")
+            .withDefault("x").oneOf("x", "z");
+    private static final Param<Boolean> RAILINGS = Param.bool("railings", "Add railings").withDefault(true);
+
+    private static final ParamSet PARAMS = ParamSet.of(
+            StructureParams.X, StructureParams.Y, StructureParams.Z, HEIGHT, WIDTH, STYLE, DIRECTION, RAILINGS)
+            .withCheck(params -> StructureParams.checkHeight(params.get(StructureParams.Y), params.get(StructureParams.Y) + params.get(HEIGHT) -
+                    ("spiral".equals(params.get(STYLE)) || params.get(RAILINGS) ? 0 : 1)));
+
     @Override
     public String getType() {
         return "staircase";
     }
 
     @Override
-    public StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
+    public ParamSet getParams() {
+        return PARAMS;
+    }
+
+    @Override
+    public StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer) {
         long start = System.currentTimeMillis();
+        ResolvedPalette blocks = palette.resolve(placer.getRegistry());
 
-        int x = getInt(args, "x");
-        int y = getInt(args, "y");
-        int z = getInt(args, "z");
-        int height = getInt(args, "height", 8);
-        int width = getInt(args, "width", 3);
-        String style = getString(args, "style", "straight");
-        String direction = getString(args, "direction", "x");
-        boolean railings = getBool(args, "railings", true);
+        int x = params.get(StructureParams.X);
+        int y = params.get(StructureParams.Y);
+        int z = params.get(StructureParams.Z);
+        int height = params.get(HEIGHT);
+        int width = params.get(WIDTH);
+        String style = params.get(STYLE);
+        String direction = params.get(DIRECTION);
+        boolean railings = params.get(RAILINGS);
 
-        String floorBlock = palette.getFloor();
-        String wallBlock = palette.getWall();
-        String accentBlock = palette.getWallAccent();
+        int floorBlock = blocks.getFloor();
+        int wallBlock = blocks.getWall();
+        int accentBlock = blocks.getWallAccent();
 
         int minX = x, minY = y, minZ = z;
         int maxX = x, maxY = y, maxZ = z;
@@ -133,29 +154,4 @@ public class StaircaseGenerator implements StructureGenerator {
                 elapsed, "staircase"
         );
     }
-
-    private int getInt(Map<String, Object> args, String key) {
-        Object val = args.get(key);
-        if (val == null) throw new IllegalArgumentException("Missing required parameter: " + key);
-        return ((Number) val).intValue();
-    }
-
-    private int getInt(Map<String, Object> args, String key, int defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return ((Number) val).intValue();
-    }
-
-    private String getString(Map<String, Object> args, String key, String defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return val.toString();
-    }
-
-    private boolean getBool(Map<String, Object> args, String key, boolean defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        if (val instanceof Boolean b) return b;
-        return Boolean.parseBoolean(val.toString());
-    }
 }
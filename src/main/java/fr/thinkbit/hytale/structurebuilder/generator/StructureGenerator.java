@@ -1,10 +1,28 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 import java.util.Map;
 
 public interface StructureGenerator {
     String getType();
-    StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer);
+
+    /**
+     * Parameters this generator reads, declared once for binding and for the
+     * tool's input schema.
+     */
+    ParamSet getParams();
+
+    StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer);
+
+    /**
+     * Binds raw tool arguments against {@link #getParams()} and generates.
+     *
+     * @throws IllegalArgumentException if an argument is missing or invalid
+     */
+    default StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
+        return generate(getParams().bind(args), palette, placer);
+    }
 }
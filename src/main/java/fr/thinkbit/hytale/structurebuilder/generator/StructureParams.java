@@ -0,0 +1,35 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+
+/**
+ * Parameters shared by every structure generator.
+ */
+public final class StructureParams {
+
+    // Hytale worlds are 320 blocks tall
+    public static final int MIN_Y = 0;
+    public static final int MAX_Y = 319;
+
+    public static final Param<Integer> X = Param.integer("x", "X coordinate");
+    public static final Param<Integer> Y = Param.integer("y", "Y coordinate").range(MIN_Y, MAX_Y);
+    public static final Param<Integer> Z = Param.integer("z", "Z coordinate");
+
+    /**
+     * Checks that a structure spanning {@code bottomY} to {@code topY}, as
+     * computed from its other parameters, stays inside the world. Returns
+     * the problem, or null, for use in a {@link ParamSet.Check}.
+     */
+    public static String checkHeight(int bottomY, int topY) {
+        if (bottomY < MIN_Y) {
+            return "Structure would reach down to y=" + bottomY + ", below the world's bottom (" + MIN_Y + ")";
+        }
+        if (topY > MAX_Y) {
+            return "Structure would reach up to y=" + topY + ", above the world's top (" + MAX_Y + ")";
+        }
+        return null;
+    }
+
+    private StructureParams() {}
+}
@@ -2,16 +2,30 @@ package fr.thinkbit.hytale.structurebuilder.generator;
 
 import com.google.gson.JsonObject;
 
+import java.util.List;
+
 public class StructureResult {
 
-    private final int blocksPlaced;
+    private final long blocksPlaced;
     private final int minX, minY, minZ;
     private final int maxX, maxY, maxZ;
     private final long buildTimeMs;
     private final String structureType;
+    // Write statistics from the staging stage, -1 when not staged
+    private final long rawWrites;
+    private final long effectiveWrites;
+    // Outcome of applying to the world, -1 when not applied
+    private final long blocksWritten;
+    private final long blocksSkipped;
 
-    public StructureResult(int blocksPlaced, int minX, int minY, int minZ,
+    public StructureResult(long blocksPlaced, int minX, int minY, int minZ,
                            int maxX, int maxY, int maxZ, long buildTimeMs, String structureType) {
+        this(blocksPlaced, minX, minY, minZ, maxX, maxY, maxZ, buildTimeMs, structureType, -1, -1, -1, -1);
+    }
+
+    private StructureResult(long blocksPlaced, int minX, int minY, int minZ,
+                            int maxX, int maxY, int maxZ, long buildTimeMs, String structureType,
+                            long rawWrites, long effectiveWrites, long blocksWritten, long blocksSkipped) {
         this.blocksPlaced = blocksPlaced;
         this.minX = minX;
         this.minY = minY;
@@ -21,9 +35,56 @@ public class StructureResult {
         this.maxZ = maxZ;
         this.buildTimeMs = buildTimeMs;
         this.structureType = structureType;
+        this.rawWrites = rawWrites;
+        this.effectiveWrites = effectiveWrites;
+        this.blocksWritten = blocksWritten;
+        this.blocksSkipped = blocksSkipped;
     }
 
-    public int getBlocksPlaced() { return blocksPlaced; }
+    /**
+     * Totals of several structures built together: summed block counts and
+     * build times, and the box enclosing all of them.
+     */
+    public static StructureResult combine(String structureType, List<StructureResult> results) {
+        if (results.isEmpty()) {
+            return new StructureResult(0, 0, 0, 0, 0, 0, 0, 0, structureType);
+        }
+        long blocks = 0;
+        long time = 0;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (StructureResult r : results) {
+            blocks += r.blocksPlaced;
+            time += r.buildTimeMs;
+            minX = Math.min(minX, r.minX);
+            minY = Math.min(minY, r.minY);
+            minZ = Math.min(minZ, r.minZ);
+            maxX = Math.max(maxX, r.maxX);
+            maxY = Math.max(maxY, r.maxY);
+            maxZ = Math.max(maxZ, r.maxZ);
+        }
+        return new StructureResult(blocks, minX, minY, minZ, maxX, maxY, maxZ, time, structureType);
+    }
+
+    /**
+     * Returns a copy carrying the raw and coalesced write counts of the
+     * staging stage the structure went through.
+     */
+    public StructureResult withWriteStats(long rawWrites, long effectiveWrites) {
+        return new StructureResult(blocksPlaced, minX, minY, minZ, maxX, maxY, maxZ,
+                buildTimeMs, structureType, rawWrites, effectiveWrites, blocksWritten, blocksSkipped);
+    }
+
+    /**
+     * Returns a copy carrying how many blocks were written to the world and
+     * how many were skipped because they already held the target type.
+     */
+    public StructureResult withApplyStats(long blocksWritten, long blocksSkipped) {
+        return new StructureResult(blocksPlaced, minX, minY, minZ, maxX, maxY, maxZ,
+                buildTimeMs, structureType, rawWrites, effectiveWrites, blocksWritten, blocksSkipped);
+    }
+
+    public long getBlocksPlaced() { return blocksPlaced; }
     public int getMinX() { return minX; }
     public int getMinY() { return minY; }
     public int getMinZ() { return minZ; }
@@ -32,6 +93,19 @@ public class StructureResult {
     public int getMaxZ() { return maxZ; }
     public long getBuildTimeMs() { return buildTimeMs; }
     public String getStructureType() { return structureType; }
+    public long getRawWrites() { return rawWrites; }
+    public long getEffectiveWrites() { return effectiveWrites; }
+    public long getBlocksWritten() { return blocksWritten; }
+    public long getBlocksSkipped() { return blocksSkipped; }
+
+    /**
+     * Raw writes per effective write: 1.0 means no overdraw, 2.0 means every
+     * position was written twice on average. 0 when no stats are attached.
+     */
+    public double getOverdrawRatio() {
+        if (rawWrites < 0 || effectiveWrites <= 0) return 0;
+        return (double) rawWrites / effectiveWrites;
+    }
 
     public JsonObject toJson() {
         JsonObject json = new JsonObject();
@@ -47,6 +121,15 @@ public class StructureResult {
         bbox.addProperty("maxY", maxY);
         bbox.addProperty("maxZ", maxZ);
         json.add("boundingBox", bbox);
+        if (rawWrites >= 0) {
+            json.addProperty("rawWrites", rawWrites);
+            json.addProperty("effectiveWrites", effectiveWrites);
+            json.addProperty("overdrawRatio", Math.round(getOverdrawRatio() * 1000) / 1000.0);
+        }
+        if (blocksWritten >= 0) {
+            json.addProperty("blocksWritten", blocksWritten);
+            json.addProperty("blocksSkipped", blocksSkipped);
+        }
         return json;
     }
 }
@@ -0,0 +1,80 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chunk-aligned rectangle of a larger area, bounds inclusive. Tiles of one
+ * area never share a chunk column, so each can be staged on its own.
+ */
+public record Tile(int index, int minX, int minZ, int maxX, int maxZ) {
+
+    /** Default tile edge, in chunks. */
+    public static final int DEFAULT_CHUNKS = 4;
+
+    /**
+     * Splits the area into tiles of {@code tileChunks} x {@code tileChunks}
+     * chunks (smaller along the edges), row by row.
+     */
+    public static List<Tile> split(int minX, int minZ, int maxX, int maxZ, int tileChunks) {
+        int bits = ChunkBatchingBlockPlacer.CHUNK_BITS;
+        int size = tileChunks << bits;
+        // Tile grid starts at the chunk containing the area's corner
+        int originX = (minX >> bits) << bits;
+        int originZ = (minZ >> bits) << bits;
+        List<Tile> tiles = new ArrayList<>();
+        for (long tz = originZ; tz <= maxZ; tz += size) {
+            for (long tx = originX; tx <= maxX; tx += size) {
+                tiles.add(new Tile(tiles.size(),
+                        (int) Math.max(minX, tx), (int) Math.max(minZ, tz),
+                        (int) Math.min(maxX, tx + size - 1), (int) Math.min(maxZ, tz + size - 1)));
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Splits the area like {@link #split}, ordered as a square spiral
+     * starting at the tile containing ({@code centerX}, {@code centerZ}), so
+     * applying tiles in order grows a finished region out from the center.
+     * Indexes follow the spiral order.
+     */
+    public static List<Tile> splitSpiral(int minX, int minZ, int maxX, int maxZ, int tileChunks,
+                                         int centerX, int centerZ) {
+        List<Tile> grid = split(minX, minZ, maxX, maxZ, tileChunks);
+        int bits = ChunkBatchingBlockPlacer.CHUNK_BITS;
+        int size = tileChunks << bits;
+        int originX = (minX >> bits) << bits;
+        int originZ = (minZ >> bits) << bits;
+        int columns = (int) (((long) maxX - originX) / size) + 1;
+        int rows = grid.size() / columns;
+        int col = (int) (((long) Math.clamp(centerX, minX, maxX) - originX) / size);
+        int row = (int) (((long) Math.clamp(centerZ, minZ, maxZ) - originZ) / size);
+
+        List<Tile> tiles = new ArrayList<>(grid.size());
+        // Legs of 1, 1, 2, 2, 3, 3... cells, turning east, south, west, north
+        int[] dx = {1, 0, -1, 0};
+        int[] dz = {0, 1, 0, -1};
+        int leg = 1;
+        int direction = 0;
+        while (true) {
+            for (int turn = 0; turn < 2; turn++) {
+                for (int step = 0; step < leg; step++) {
+                    if (col >= 0 && col < columns && row >= 0 && row < rows) {
+                        Tile tile = grid.get(row * columns + col);
+                        tiles.add(new Tile(tiles.size(), tile.minX, tile.minZ, tile.maxX, tile.maxZ));
+                        if (tiles.size() == grid.size()) return tiles;
+                    }
+                    col += dx[direction];
+                    row += dz[direction];
+                }
+                direction = (direction + 1) & 3;
+            }
+            leg++;
+        }
+    }
+
+    public long getArea() {
+        return (long) (maxX - minX + 1) * (maxZ - minZ + 1);
+    }
+}
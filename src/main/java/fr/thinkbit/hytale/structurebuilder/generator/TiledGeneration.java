@@ -0,0 +1,52 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import java.util.List;
+
+/**
+ * A generation split into independent {@link Tile}s. Tiles may be generated
+ * concurrently, each into its own placer, and in any order.
+ */
+public interface TiledGeneration {
+
+    /** Tiles in the order they should be applied; each tile's index is its position. */
+    List<Tile> getTiles();
+
+    /** Blocks {@link #generateTile} writes for {@code tile}, for progress. */
+    long getExpectedBlocks(Tile tile);
+
+    /** Writes the part of the structure inside {@code tile}. */
+    void generateTile(Tile tile, BlockPlacer placer);
+
+    /** Result of the whole generation once every tile has been generated. */
+    StructureResult toResult(long blocksPlaced, long buildTimeMs);
+
+    /**
+     * The same generation without its first {@code firstTile} tiles, to
+     * resume a run that already applied them. Tiles keep their index.
+     */
+    default TiledGeneration from(int firstTile) {
+        TiledGeneration all = this;
+        return new TiledGeneration() {
+            @Override
+            public List<Tile> getTiles() {
+                List<Tile> tiles = all.getTiles();
+                return tiles.subList(Math.min(firstTile, tiles.size()), tiles.size());
+            }
+
+            @Override
+            public long getExpectedBlocks(Tile tile) {
+                return all.getExpectedBlocks(tile);
+            }
+
+            @Override
+            public void generateTile(Tile tile, BlockPlacer placer) {
+                all.generateTile(tile, placer);
+            }
+
+            @Override
+            public StructureResult toResult(long blocksPlaced, long buildTimeMs) {
+                return all.toResult(blocksPlaced, buildTimeMs);
+            }
+        };
+    }
+}
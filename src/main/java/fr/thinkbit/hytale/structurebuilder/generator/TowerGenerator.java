@@ -1,38 +1,57 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
-
-import java.util.Map;
+import fr.thinkbit.hytale.structurebuilder.material.ResolvedPalette;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 public class TowerGenerator implements StructureGenerator {
 
+    private static final Param<Integer> RADIUS = Param.integer("radius", "Radius").withDefault(4).range(1, 64);
+    private static final Param<Integer> HEIGHT = Param.integer("height", "Height").withDefault(10).range(1, 256);
+    private static final Param<String> SHAPE = Param.string("shape", "Shape")
+            .withDefault("round").oneOf("round", "square");
+    private static final Param<Boolean> BATTLEMENTS = Param.bool("battlements", "Add battlements").withDefault(true);
+
+    private static final ParamSet PARAMS = ParamSet.of(
+            StructureParams.X, StructureParams.Y, StructureParams.Z, RADIUS, HEIGHT, SHAPE, BATTLEMENTS)
+            .withCheck(params -> StructureParams.checkHeight(params.get(StructureParams.Y),
+                    params.get(StructureParams.Y) + params.get(HEIGHT) + (params.get(BATTLEMENTS) ? 2 : 1)));
+
     @Override
     public String getType() {
         return "tower";
     }
 
     @Override
-    public StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
+    public ParamSet getParams() {
+        return PARAMS;
+    }
+
+    @Override
+    public StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer) {
         long start = System.currentTimeMillis();
+        ResolvedPalette blocks = palette.resolve(placer.getRegistry());
 
-        int cx = getInt(args, "x");
-        int y = getInt(args, "y");
-        int cz = getInt(args, "z");
-        int radius = getInt(args, "radius", 4);
-        int height = getInt(args, "height", 10);
-        String shape = getString(args, "shape", "round"); // "round" or "square"
-        boolean battlements = getBool(args, "battlements", true);
+        int cx = params.get(StructureParams.X);
+        int y = params.get(StructureParams.Y);
+        int cz = params.get(StructureParams.Z);
+        int radius = params.get(RADIUS);
+        int height = params.get(HEIGHT);
+        String shape = params.get(SHAPE);
+        boolean battlements = params.get(BATTLEMENTS);
 
-        String wallBlock = palette.getWall();
-        String accentBlock = palette.getWallAccent();
-        String floorBlock = palette.getFloor();
+        int wallBlock = blocks.getWall();
+        int accentBlock = blocks.getWallAccent();
+        int floorBlock = blocks.getFloor();
 
         int minX = cx - radius, maxX = cx + radius;
         int minZ = cz - radius, maxZ = cz + radius;
         int maxY = y;
 
         // Foundation layer
-        placeLayer(placer, cx, y, cz, radius, shape, palette.getFoundation(), true);
+        placeLayer(placer, cx, y, cz, radius, shape, blocks.getFoundation(), true);
 
         // Walls
         for (int h = 1; h <= height; h++) {
@@ -57,8 +76,8 @@ public class TowerGenerator implements StructureGenerator {
         }
 
         // Door opening (south side)
-        placer.setBlock(cx, y + 1, cz + radius, MaterialPalette.AIR);
-        placer.setBlock(cx, y + 2, cz + radius, MaterialPalette.AIR);
+        placer.setBlock(cx, y + 1, cz + radius, blocks.getAir());
+        placer.setBlock(cx, y + 2, cz + radius, blocks.getAir());
 
         long elapsed = System.currentTimeMillis() - start;
         return new StructureResult(
@@ -70,7 +89,7 @@ public class TowerGenerator implements StructureGenerator {
     }
 
     private void placeLayer(BlockPlacer placer, int cx, int y, int cz, int radius,
-                            String shape, String block, boolean filled) {
+                            String shape, int block, boolean filled) {
         if ("square".equals(shape)) {
             placeSquareLayer(placer, cx, y, cz, radius, block, filled);
         } else {
@@ -79,7 +98,7 @@ public class TowerGenerator implements StructureGenerator {
     }
 
     private void placeSquareLayer(BlockPlacer placer, int cx, int y, int cz, int radius,
-                                  String block, boolean filled) {
+                                  int block, boolean filled) {
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
                 if (filled || Math.abs(dx) == radius || Math.abs(dz) == radius) {
@@ -90,7 +109,7 @@ public class TowerGenerator implements StructureGenerator {
     }
 
     private void placeCircleLayer(BlockPlacer placer, int cx, int y, int cz, int radius,
-                                  String block, boolean filled) {
+                                  int block, boolean filled) {
         int r2 = radius * radius;
         int inner2 = (radius - 1) * (radius - 1);
         for (int dx = -radius; dx <= radius; dx++) {
@@ -106,7 +125,7 @@ public class TowerGenerator implements StructureGenerator {
     }
 
     private void placeBattlements(BlockPlacer placer, int cx, int y, int cz, int radius,
-                                  String shape, String block) {
+                                  String shape, int block) {
         if ("square".equals(shape)) {
             for (int dx = -radius; dx <= radius; dx++) {
                 for (int dz = -radius; dz <= radius; dz++) {
@@ -135,29 +154,4 @@ public class TowerGenerator implements StructureGenerator {
             }
         }
     }
-
-    private int getInt(Map<String, Object> args, String key) {
-        Object val = args.get(key);
-        if (val == null) throw new IllegalArgumentException("Missing required parameter: " + key);
-        return ((Number) val).intValue();
-    }
-
-    private int getInt(Map<String, Object> args, String key, int defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return ((Number) val).intValue();
-    }
-
-    private String getString(Map<String, Object> args, String key, String defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return val.toString();
-    }
-
-    private boolean getBool(Map<String, Object> args, String key, boolean defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        if (val instanceof Boolean b) return b;
-        return Boolean.parseBoolean(val.toString());
-    }
 }
@@ -1,34 +1,58 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
-
-import java.util.Map;
+import fr.thinkbit.hytale.structurebuilder.material.ResolvedPalette;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 public class WallGenerator implements StructureGenerator {
 
+    private static final Param<Integer> LENGTH = Param.integer("length", "Length").withDefault(10).range(1, 256);
+    private static final Param<Integer> HEIGHT = Param.integer("height", "Height").withDefault(5).range(1, 256);
+    private static final Param<Integer> THICKNESS = Param.integer("thickness", "Thickness").withDefault(1).range(1, 16);
+    private static final Param<String> DIRECTION = Param.string("direction", "Direction")
+            .withDefault("x").oneOf("x", "z");
+    private static final Param<Boolean> BATTLEMENTS = Param.bool("battlements", "Add battlements").withDefault(true);
+
+    private static final ParamSet PARAMS = ParamSet.of(
+            StructureParams.X, StructureParams.Y, StructureParams.Z, LENGTH, HEIGHT, THICKNESS, DIRECTION, BATTLEMENTS)
+            .withCheck(params -> StructureParams.checkHeight(params.get(StructureParams.Y),
+                    params.get(StructureParams.Y) + params.get(HEIGHT) - (params.get(BATTLEMENTS) ? 0 : 1)));
+
     @Override
     public String getType() {
         return "wall";
     }
 
     @Override
-    public StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
+    public ParamSet getParams() {
+        return PARAMS;
+    }
+
+    @Override
+    public StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer) {
         long start = System.currentTimeMillis();
+        ResolvedPalette blocks = palette.resolve(placer.getRegistry());
 
-        int x = getInt(args, "x");
-        int y = getInt(args, "y");
-        int z = getInt(args, "z");
-        int length = getInt(args, "length", 10);
-        int height = getInt(args, "height", 5);
-        int thickness = getInt(args, "thickness", 1);
-        String direction = getString(args, "direction", "x"); // "x" or "z"
-        boolean battlements = getBool(args, "battlements", true);
+        int x = params.get(StructureParams.X);
+        int y = params.get(StructureParams.Y);
+        int z = params.get(StructureParams.Z);
+        int length = params.get(LENGTH);
+        int height = params.get(HEIGHT);
+        int thickness = params.get(THICKNESS);
+        String direction = params.get(DIRECTION);
+        boolean battlements = params.get(BATTLEMENTS);
 
-        String wallBlock = palette.getWall();
-        String accentBlock = palette.getWallAccent();
+        int wallBlock = blocks.getWall();
+        int accentBlock = blocks.getWallAccent();
 
         int maxX = x, maxY = y, maxZ = z;
 
+        // Main wall plus a merlon on every other block of the top
+        int merlons = battlements ? (length + 1) / 2 : 0;
+        placer.expect((long) (length * height + merlons) * thickness);
+
         // Build the main wall
         for (int h = 0; h < height; h++) {
             for (int l = 0; l < length; l++) {
@@ -85,29 +109,4 @@ public class WallGenerator implements StructureGenerator {
                 elapsed, "wall"
         );
     }
-
-    private int getInt(Map<String, Object> args, String key) {
-        Object val = args.get(key);
-        if (val == null) throw new IllegalArgumentException("Missing required parameter: " + key);
-        return ((Number) val).intValue();
-    }
-
-    private int getInt(Map<String, Object> args, String key, int defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return ((Number) val).intValue();
-    }
-
-    private String getString(Map<String, Object> args, String key, String defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return val.toString();
-    }
-
-    private boolean getBool(Map<String, Object> args, String key, boolean defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        if (val instanceof Boolean b) return b;
-        return Boolean.parseBoolean(val.toString());
-    }
 }
@@ -1,35 +1,56 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
-
-import java.util.Map;
+import fr.thinkbit.hytale.structurebuilder.material.ResolvedPalette;
+import fr.thinkbit.hytale.structurebuilder.param.Param;
+import fr.thinkbit.hytale.structurebuilder.param.ParamSet;
+import fr.thinkbit.hytale.structurebuilder.param.Params;
 
 public class WellGenerator implements StructureGenerator {
 
+    private static final Param<Integer> RADIUS = Param.integer("radius", "Radius").withDefault(2).range(1, 64);
+    private static final Param<Integer> WALL_HEIGHT = Param.integer("wallHeight", "Above-ground wall height")
+            .withDefault(3).range(1, 64);
+    private static final Param<Boolean> ROOF = Param.bool("roof", "Add roof").withDefault(true);
+    private static final Param<Integer> ROOF_HEIGHT = Param.integer("roofHeight", "Roof height")
+            .withDefault(3).range(1, 64);
+    private static final Param<Integer> DEPTH = Param.integer("depth", "Shaft depth below the base")
+            .withDefault(5).range(0, 256);
+
+    private static final ParamSet PARAMS = ParamSet.of(
+            StructureParams.X, StructureParams.Y, StructureParams.Z, RADIUS, WALL_HEIGHT, ROOF, ROOF_HEIGHT, DEPTH)
+            .withCheck(WellGenerator::checkHeight);
+
     @Override
     public String getType() {
         return "well";
     }
 
     @Override
-    public StructureResult generate(Map<String, Object> args, MaterialPalette palette, BlockPlacer placer) {
-        long start = System.currentTimeMillis();
+    public ParamSet getParams() {
+        return PARAMS;
+    }
 
-        int cx = getInt(args, "x");
-        int y = getInt(args, "y");
-        int cz = getInt(args, "z");
-        int radius = getInt(args, "radius", 2);
-        int wallHeight = getInt(args, "wallHeight", 3);
-        boolean roof = getBool(args, "roof", true);
-        int roofHeight = getInt(args, "roofHeight", 3);
-        int shaftDepth = getInt(args, "depth", 5);
-
-        String wallBlock = palette.getWall();
-        String accentBlock = palette.getWallAccent();
-        String foundationBlock = palette.getFoundation();
-        String roofBlock = palette.getRoof();
-        String trimBlock = palette.getRoofTrim();
-        String lanternBlock = palette.getLantern();
+    @Override
+    public StructureResult generate(Params params, MaterialPalette palette, BlockPlacer placer) {
+        long start = System.currentTimeMillis();
+        ResolvedPalette blocks = palette.resolve(placer.getRegistry());
+
+        int cx = params.get(StructureParams.X);
+        int y = params.get(StructureParams.Y);
+        int cz = params.get(StructureParams.Z);
+        int radius = params.get(RADIUS);
+        int wallHeight = params.get(WALL_HEIGHT);
+        boolean roof = params.get(ROOF);
+        int roofHeight = params.get(ROOF_HEIGHT);
+        int shaftDepth = params.get(DEPTH);
+
+        int wallBlock = blocks.getWall();
+        int accentBlock = blocks.getWallAccent();
+        int foundationBlock = blocks.getFoundation();
+        int roofBlock = blocks.getRoof();
+        int trimBlock = blocks.getRoofTrim();
+        int lanternBlock = blocks.getLantern();
 
         int minY = y - shaftDepth;
         int maxY = y;
@@ -60,7 +81,7 @@ public class WellGenerator implements StructureGenerator {
             for (int dx = -(radius - 1); dx <= (radius - 1); dx++) {
                 for (int dz = -(radius - 1); dz <= (radius - 1); dz++) {
                     if (dx * dx + dz * dz <= innerR2) {
-                        placer.setBlock(cx + dx, y + h, cz + dz, MaterialPalette.AIR);
+                        placer.setBlock(cx + dx, y + h, cz + dz, blocks.getAir());
                     }
                 }
             }
@@ -123,28 +144,13 @@ public class WellGenerator implements StructureGenerator {
         );
     }
 
-    private int getInt(Map<String, Object> args, String key) {
-        Object val = args.get(key);
-        if (val == null) throw new IllegalArgumentException("Missing required parameter: " + key);
-        return ((Number) val).intValue();
-    }
-
-    private int getInt(Map<String, Object> args, String key, int defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return ((Number) val).intValue();
-    }
-
-    private String getString(Map<String, Object> args, String key, String defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        return val.toString();
-    }
-
-    private boolean getBool(Map<String, Object> args, String key, boolean defaultValue) {
-        Object val = args.get(key);
-        if (val == null) return defaultValue;
-        if (val instanceof Boolean b) return b;
-        return Boolean.parseBoolean(val.toString());
+    // The shaft goes below the base; the roof's top layer ends 2 * roofHeight above the walls
+    private static String checkHeight(Params params) {
+        int y = params.get(StructureParams.Y);
+        int top = y + params.get(WALL_HEIGHT) - 1;
+        if (params.get(ROOF)) {
+            top += 2 * params.get(ROOF_HEIGHT);
+        }
+        return StructureParams.checkHeight(y - params.get(DEPTH), top);
     }
 }
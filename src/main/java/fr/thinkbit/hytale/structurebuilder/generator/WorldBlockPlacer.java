@@ -1,24 +1,241 @@
 package fr.thinkbit.hytale.structurebuilder.generator;
 
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import fr.thinkbit.hytale.structurebuilder.material.BlockRegistry;
+import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
 
-public class WorldBlockPlacer implements BlockPlacer {
+import java.util.List;
 
-    private final World world;
-    private int count;
+public class WorldBlockPlacer implements BlockPlacer, ChunkWriter {
+
+    private static final int CHUNK_BITS = ChunkBatchingBlockPlacer.CHUNK_BITS;
+    private static final int CHUNK_MASK = ChunkBatchingBlockPlacer.CHUNK_MASK;
+
+    /**
+     * The few chunk operations the placer needs. The world implementation
+     * wraps a {@link WorldChunk}; tests supply an in-memory one.
+     */
+    interface Chunk {
+        int getBlock(int x, int y, int z);
+
+        void setBlock(int x, int y, int z, int blockId);
+
+        /** Tallest non-air block of the column. */
+        int getHeight(int x, int z);
+    }
+
+    /** Looks chunks up by chunk coordinates. */
+    interface ChunkSource {
+        Chunk getChunk(int chunkX, int chunkZ);
+    }
+
+    private final ChunkSource chunks;
+    private final BlockRegistry registry;
+    private final int airId;
+    // Diff mode: read the current block and only write when it differs
+    private final boolean skipUnchanged;
+    private long count;
+    private long skipped;
 
     public WorldBlockPlacer(World world) {
-        this.world = world;
+        this(world, false);
+    }
+
+    public WorldBlockPlacer(World world, boolean skipUnchanged) {
+        this((chunkX, chunkZ) -> wrap(world.getChunk(ChunkUtil.indexChunk(chunkX, chunkZ))),
+                WorldBlockRegistry.get(), skipUnchanged);
+    }
+
+    WorldBlockPlacer(ChunkSource chunks, BlockRegistry registry, boolean skipUnchanged) {
+        this.chunks = chunks;
+        this.registry = registry;
+        this.airId = registry.getId(MaterialPalette.AIR);
+        this.skipUnchanged = skipUnchanged;
+    }
+
+    @Override
+    public BlockRegistry getRegistry() {
+        return registry;
     }
 
     @Override
     public void setBlock(int x, int y, int z, String blockType) {
-        world.setBlock(x, y, z, blockType);
+        setBlock(x, y, z, registry.getId(blockType));
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, int blockId) {
+        place(chunks.getChunk(x >> CHUNK_BITS, z >> CHUNK_BITS), x, y, z, blockId);
+    }
+
+    /**
+     * Direct (unstaged) stamping: each chunk is looked up once and block ids
+     * are resolved once per chunk rather than per block.
+     */
+    @Override
+    public void stampColumns(int x1, int z1, int x2, int z2, ColumnProfile profile) {
+        for (int cx = x1 >> CHUNK_BITS; cx <= x2 >> CHUNK_BITS; cx++) {
+            for (int cz = z1 >> CHUNK_BITS; cz <= z2 >> CHUNK_BITS; cz++) {
+                stampColumns(chunks.getChunk(cx, cz), Math.max(x1, cx << CHUNK_BITS), Math.max(z1, cz << CHUNK_BITS),
+                        Math.min(x2, (cx << CHUNK_BITS) + CHUNK_MASK), Math.min(z2, (cz << CHUNK_BITS) + CHUNK_MASK),
+                        profile);
+            }
+        }
+    }
+
+    /**
+     * Stamps {@code profile} on the columns of one chunk, given directly
+     * rather than looked up in the world, e.g. while it is being generated.
+     * The area must lie inside the chunk.
+     */
+    public void stampColumns(WorldChunk chunk, int x1, int z1, int x2, int z2, ColumnProfile profile) {
+        stampColumns(wrap(chunk), x1, z1, x2, z2, profile);
+    }
+
+    private void stampColumns(Chunk chunk, int x1, int z1, int x2, int z2, ColumnProfile profile) {
+        List<ColumnProfile.Run> runs = profile.getRuns();
+        int[] ids = new int[runs.size()];
+        for (int r = 0; r < runs.size(); r++) {
+            ids[r] = registry.getId(runs.get(r).blockType());
+        }
+        for (int x = x1; x <= x2; x++) {
+            for (int z = z1; z <= z2; z++) {
+                for (int r = 0; r < ids.length; r++) {
+                    ColumnProfile.Run run = runs.get(r);
+                    int maxY = ids[r] == airId ? clearTop(chunk, x, z, run.minY(), run.maxY()) : run.maxY();
+                    for (int y = run.minY(); y <= maxY; y++) {
+                        place(chunk, x, y, z, ids[r]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void writeChunk(ChunkBatch batch, int from, int to) {
+        // One chunk lookup for the whole slice instead of one per block
+        Chunk chunk = chunks.getChunk(batch.getChunkX(), batch.getChunkZ());
+        int lastId = Integer.MIN_VALUE;
+        int worldId = 0;
+        for (int i = from; i < to; i++) {
+            int id = batch.getBlockId(i);
+            // Consecutive entries mostly share a block, so translate only on change
+            if (id != lastId) {
+                lastId = id;
+                worldId = toWorldId(batch, id);
+            }
+            place(chunk, batch.getX(i), batch.getY(i), batch.getZ(i), worldId);
+        }
+    }
+
+    @Override
+    public void fillChunk(ChunkBatch batch, int fill, int fromY, int toY) {
+        Chunk chunk = chunks.getChunk(batch.getChunkX(), batch.getChunkZ());
+        int id = toWorldId(batch, batch.getFillBlockId(fill));
+        int minX = batch.getFillMinX(fill), maxX = batch.getFillMaxX(fill);
+        int minZ = batch.getFillMinZ(fill), maxZ = batch.getFillMaxZ(fill);
+        if (id == airId) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    int maxY = clearTop(chunk, x, z, fromY, toY);
+                    for (int y = fromY; y <= maxY; y++) {
+                        place(chunk, x, y, z, id);
+                    }
+                }
+            }
+            return;
+        }
+        for (int y = fromY; y <= toY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    place(chunk, x, y, z, id);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fillChunkLayer(ChunkBatch batch, int fill, int y, int from, int to) {
+        Chunk chunk = chunks.getChunk(batch.getChunkX(), batch.getChunkZ());
+        int id = toWorldId(batch, batch.getFillBlockId(fill));
+        int minX = batch.getFillMinX(fill), minZ = batch.getFillMinZ(fill);
+        int depth = batch.getFillMaxZ(fill) - minZ + 1;
+        for (int i = from; i < to; i++) {
+            int x = minX + i / depth, z = minZ + i % depth;
+            if (id != airId || clearTop(chunk, x, z, y, y) >= y) {
+                place(chunk, x, y, z, id);
+            }
+        }
+    }
+
+    /**
+     * Top of the air to write in column (x, z) between {@code fromY} and
+     * {@code toY}: the heightmap's tallest non-air block, as everything above
+     * it is already air. Blocks left out are counted as skipped.
+     */
+    private int clearTop(Chunk chunk, int x, int z, int fromY, int toY) {
+        int top = Math.min(toY, chunk.getHeight(x, z));
+        skipped += toY - Math.max(top, fromY - 1);
+        return top;
+    }
+
+    private void place(Chunk chunk, int x, int y, int z, int id) {
+        if (skipUnchanged && chunk.getBlock(x, y, z) == id) {
+            skipped++;
+            return;
+        }
+        chunk.setBlock(x, y, z, id);
         count++;
     }
 
+    // Batches staged against another registry (e.g. a preview) are translated by name
+    private int toWorldId(ChunkBatch batch, int id) {
+        return batch.getRegistry() == registry ? id : registry.getId(batch.getRegistry().getName(id));
+    }
+
+    // A uniform run of writes shares one block, so its type is only looked up when the id changes
+    private static Chunk wrap(WorldChunk chunk) {
+        return new Chunk() {
+            private int lastId = Integer.MIN_VALUE;
+            private BlockType blockType;
+
+            @Override
+            public int getBlock(int x, int y, int z) {
+                return chunk.getBlock(x, y, z);
+            }
+
+            @Override
+            public void setBlock(int x, int y, int z, int blockId) {
+                if (blockId != lastId) {
+                    lastId = blockId;
+                    blockType = BlockType.getAssetMap().getAsset(blockId);
+                }
+                chunk.setBlock(x, y, z, blockId, blockType);
+            }
+
+            @Override
+            public int getHeight(int x, int z) {
+                return chunk.getHeight(x, z);
+            }
+        };
+    }
+
+    /**
+     * Number of blocks actually written to the world.
+     */
     @Override
-    public int getBlockCount() {
+    public long getBlockCount() {
         return count;
     }
+
+    /**
+     * Number of blocks left untouched because they already held the target
+     * type, including air above the heightmap that was never written.
+     */
+    public long getSkippedCount() {
+        return skipped;
+    }
 }
@@ -0,0 +1,36 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import fr.thinkbit.hytale.structurebuilder.material.BlockRegistry;
+
+/**
+ * The server's block ids, as assigned by the block type asset map.
+ */
+public final class WorldBlockRegistry implements BlockRegistry {
+
+    private static final WorldBlockRegistry INSTANCE = new WorldBlockRegistry();
+
+    private WorldBlockRegistry() {}
+
+    public static WorldBlockRegistry get() {
+        return INSTANCE;
+    }
+
+    @Override
+    public int getId(String blockType) {
+        int id = BlockType.getAssetMap().getIndex(blockType);
+        if (id == Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Unknown block type: " + blockType);
+        }
+        return id;
+    }
+
+    @Override
+    public String getName(int blockId) {
+        BlockType type = BlockType.getAssetMap().getAsset(blockId);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown block id: " + blockId);
+        }
+        return type.getId();
+    }
+}
@@ -0,0 +1,15 @@
+package fr.thinkbit.hytale.structurebuilder.material;
+
+/**
+ * Maps block type names to numeric ids. Names are resolved once, up front,
+ * so placement loops only carry ints.
+ */
+public interface BlockRegistry {
+
+    /**
+     * @throws IllegalArgumentException if the block type is unknown
+     */
+    int getId(String blockType);
+
+    String getName(int blockId);
+}
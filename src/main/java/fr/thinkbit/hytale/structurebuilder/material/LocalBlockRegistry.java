@@ -0,0 +1,54 @@
+package fr.thinkbit.hytale.structurebuilder.material;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry that assigns ids on first use. Used when no world is
+ * involved (tests, previews, dry runs); it accepts any name.
+ */
+public final class LocalBlockRegistry implements BlockRegistry {
+
+    private static final LocalBlockRegistry SHARED = new LocalBlockRegistry();
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private int size;
+
+    public LocalBlockRegistry() {
+        // Mirror the server, where the empty block is id 0
+        getId(MaterialPalette.AIR);
+    }
+
+    public static LocalBlockRegistry getShared() {
+        return SHARED;
+    }
+
+    @Override
+    public int getId(String blockType) {
+        Integer id = ids.get(blockType);
+        return id != null ? id : register(blockType);
+    }
+
+    @Override
+    public String getName(int blockId) {
+        String[] current = names;
+        if (blockId < 0 || blockId >= current.length || current[blockId] == null) {
+            throw new IllegalArgumentException("Unknown block id: " + blockId);
+        }
+        return current[blockId];
+    }
+
+    private synchronized int register(String blockType) {
+        Integer existing = ids.get(blockType);
+        if (existing != null) return existing;
+        int id = size++;
+        String[] grown = names.length > id ? names.clone() : Arrays.copyOf(names, names.length * 2);
+        grown[id] = blockType;
+        // Publish the name before the id so readers never see an unnamed id
+        names = grown;
+        ids.put(blockType, id);
+        return id;
+    }
+}
@@ -20,6 +20,9 @@ public class MaterialPalette {
 
     public static final String AIR = "Empty";
 
+    // Last resolution, reused while builds keep targeting the same registry
+    private volatile ResolvedPalette resolved;
+
     private MaterialPalette(Builder b) {
         this.name = b.name;
         this.foundation = b.foundation;
@@ -54,6 +57,21 @@ public class MaterialPalette {
     public String getWardrobe() { return wardrobe; }
     public String getLadder() { return ladder; }
 
+    /**
+     * Resolves every block name of this palette to an id of the registry.
+     * Unknown names fail here, once, instead of on every placed block.
+     *
+     * @throws IllegalArgumentException if a block name is unknown to the registry
+     */
+    public ResolvedPalette resolve(BlockRegistry registry) {
+        ResolvedPalette current = resolved;
+        if (current == null || current.getRegistry() != registry) {
+            current = new ResolvedPalette(this, registry);
+            resolved = current;
+        }
+        return current;
+    }
+
     public static class Builder {
         private final String name;
         private String foundation = "Rock_Stone_Cobble";
@@ -0,0 +1,61 @@
+package fr.thinkbit.hytale.structurebuilder.material;
+
+/**
+ * A {@link MaterialPalette} with every block name resolved to a numeric id
+ * of one {@link BlockRegistry}.
+ */
+public final class ResolvedPalette {
+
+    private final BlockRegistry registry;
+    private final int air;
+    private final int foundation;
+    private final int wall;
+    private final int wallAccent;
+    private final int floor;
+    private final int ceiling;
+    private final int roof;
+    private final int roofTrim;
+    private final int table;
+    private final int chair;
+    private final int bed;
+    private final int lantern;
+    private final int chest;
+    private final int wardrobe;
+    private final int ladder;
+
+    ResolvedPalette(MaterialPalette p, BlockRegistry registry) {
+        this.registry = registry;
+        this.air = registry.getId(MaterialPalette.AIR);
+        this.foundation = registry.getId(p.getFoundation());
+        this.wall = registry.getId(p.getWall());
+        this.wallAccent = registry.getId(p.getWallAccent());
+        this.floor = registry.getId(p.getFloor());
+        this.ceiling = registry.getId(p.getCeiling());
+        this.roof = registry.getId(p.getRoof());
+        this.roofTrim = registry.getId(p.getRoofTrim());
+        this.table = registry.getId(p.getTable());
+        this.chair = registry.getId(p.getChair());
+        this.bed = registry.getId(p.getBed());
+        this.lantern = registry.getId(p.getLantern());
+        this.chest = registry.getId(p.getChest());
+        this.wardrobe = registry.getId(p.getWardrobe());
+        this.ladder = registry.getId(p.getLadder());
+    }
+
+    public BlockRegistry getRegistry() { return registry; }
+    public int getAir() { return air; }
+    public int getFoundation() { return foundation; }
+    public int getWall() { return wall; }
+    public int getWallAccent() { return wallAccent; }
+    public int getFloor() { return floor; }
+    public int getCeiling() { return ceiling; }
+    public int getRoof() { return roof; }
+    public int getRoofTrim() { return roofTrim; }
+    public int getTable() { return table; }
+    public int getChair() { return chair; }
+    public int getBed() { return bed; }
+    public int getLantern() { return lantern; }
+    public int getChest() { return chest; }
+    public int getWardrobe() { return wardrobe; }
+    public int getLadder() { return ladder; }
+}
@@ -0,0 +1,136 @@
+package fr.thinkbit.hytale.structurebuilder.param;
+
+import java.util.List;
+
+/**
+ * One declared tool parameter: name, type, description, default and the
+ * values it accepts. A parameter without a default is required.
+ * Declarations are immutable; {@link #withDefault}, {@link #range} and
+ * {@link #oneOf} return copies.
+ */
+public final class Param<T> {
+
+    public enum Type { INTEGER, STRING, BOOLEAN }
+
+    private final String name;
+    private final Type type;
+    private final String description;
+    private final T defaultValue;
+    private final int min;
+    private final int max;
+    private final List<String> choices;
+
+    private Param(String name, Type type, String description, T defaultValue, int min, int max, List<String> choices) {
+        this.name = name;
+        this.type = type;
+        this.description = description;
+        this.defaultValue = defaultValue;
+        this.min = min;
+        this.max = max;
+        this.choices = choices;
+    }
+
+    public static Param<Integer> integer(String name, String description) {
+        return new Param<>(name, Type.INTEGER, description, null, Integer.MIN_VALUE, Integer.MAX_VALUE, List.of());
+    }
+
+    public static Param<String> string(String name, String description) {
+        return new Param<>(name, Type.STRING, description, null, 0, 0, List.of());
+    }
+
+    public static Param<Boolean> bool(String name, String description) {
+        return new Param<>(name, Type.BOOLEAN, description, null, 0, 0, List.of());
+    }
+
+    public Param<T> withDefault(T value) {
+        return new Param<>(name, type, description, value, min, max, choices);
+    }
+
+    /** Accepted integer range, both ends inclusive. */
+    public Param<T> range(int min, int max) {
+        if (type != Type.INTEGER) {
+            throw new IllegalStateException("Only integer parameters have a range: " + name);
+        }
+        return new Param<>(name, type, description, defaultValue, min, max, choices);
+    }
+
+    public Param<T> oneOf(String... values) {
+        if (type != Type.STRING) {
+            throw new IllegalStateException("Only string parameters have choices: " + name);
+        }
+        return new Param<>(name, type, description, defaultValue, min, max, List.of(values));
+    }
+
+    public String getName() { return name; }
+    public Type getType() { return type; }
+    public String getDescription() { return description; }
+    public T getDefault() { return defaultValue; }
+    public boolean isRequired() { return defaultValue == null; }
+    public int getMin() { return min; }
+    public int getMax() { return max; }
+    public List<String> getChoices() { return choices; }
+
+    public boolean isBounded() {
+        return min != Integer.MIN_VALUE || max != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Converts a raw argument as sent by a client (JSON number, boolean or
+     * string) into this parameter's type, or throws with a message naming
+     * the parameter.
+     */
+    @SuppressWarnings("unchecked")
+    T bind(Object raw) {
+        if (raw == null) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException("Missing required parameter: " + name);
+            }
+            return defaultValue;
+        }
+        return (T) switch (type) {
+            case INTEGER -> bindInt(raw);
+            case BOOLEAN -> bindBool(raw);
+            case STRING -> bindString(raw);
+        };
+    }
+
+    private Integer bindInt(Object raw) {
+        long value;
+        if (raw instanceof Number n) {
+            // JSON numbers often arrive as doubles
+            double d = n.doubleValue();
+            if (d != Math.rint(d)) throw invalid(raw, "an integer");
+            value = (long) d;
+        } else {
+            try {
+                value = Long.parseLong(raw.toString().trim());
+            } catch (NumberFormatException e) {
+                throw invalid(raw, "an integer");
+            }
+        }
+        if (value < min || value > max) {
+            throw invalid(raw, "between " + min + " and " + max);
+        }
+        return (int) value;
+    }
+
+    private Boolean bindBool(Object raw) {
+        if (raw instanceof Boolean b) return b;
+        String s = raw.toString().trim();
+        if (s.equalsIgnoreCase("true")) return true;
+        if (s.equalsIgnoreCase("false")) return false;
+        throw invalid(raw, "true or false");
+    }
+
+    private String bindString(Object raw) {
+        String s = raw.toString();
+        if (!choices.isEmpty() && !choices.contains(s)) {
+            throw invalid(raw, "one of " + String.join(", ", choices));
+        }
+        return s;
+    }
+
+    private IllegalArgumentException invalid(Object raw, String expected) {
+        return new IllegalArgumentException("Parameter " + name + " must be " + expected + ", got: " + raw);
+    }
+}
@@ -0,0 +1,82 @@
+package fr.thinkbit.hytale.structurebuilder.param;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parameters one generator reads, declared once. The same declarations
+ * bind request arguments into {@link Params} and describe the tool's input
+ * schema, so the two cannot drift apart.
+ */
+public final class ParamSet {
+
+    /**
+     * A rule across several parameters, such as a structure's total height.
+     * Returns the problem, or null when the bound values fit together.
+     */
+    @FunctionalInterface
+    public interface Check {
+        String validate(Params params);
+    }
+
+    private final List<Param<?>> params;
+    private final List<Check> checks;
+
+    private ParamSet(List<Param<?>> params, List<Check> checks) {
+        this.params = params;
+        this.checks = checks;
+    }
+
+    public static ParamSet of(Param<?>... params) {
+        return new ParamSet(List.of(params), List.of());
+    }
+
+    /**
+     * Returns a copy that also applies {@code check} once every parameter
+     * is valid on its own.
+     */
+    public ParamSet withCheck(Check check) {
+        List<Check> all = new ArrayList<>(checks);
+        all.add(check);
+        return new ParamSet(params, List.copyOf(all));
+    }
+
+    public List<Param<?>> getParams() {
+        return params;
+    }
+
+    /**
+     * Checks and converts every declared parameter. Arguments not declared
+     * here (tool options such as {@code material} or {@code async}) are
+     * ignored. All problems are reported together; the {@link Check}s run
+     * only when each parameter is valid.
+     *
+     * @throws IllegalArgumentException if any argument is missing or invalid
+     */
+    public Params bind(Map<String, Object> args) {
+        Map<String, Object> values = new HashMap<>();
+        List<String> errors = new ArrayList<>();
+        for (Param<?> param : params) {
+            try {
+                values.put(param.getName(), param.bind(args.get(param.getName())));
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        if (errors.isEmpty()) {
+            Params bound = new Params(values);
+            for (Check check : checks) {
+                String error = check.validate(bound);
+                if (error != null) {
+                    errors.add(error);
+                }
+            }
+            if (errors.isEmpty()) {
+                return bound;
+            }
+        }
+        throw new IllegalArgumentException(String.join("; ", errors));
+    }
+}
@@ -0,0 +1,24 @@
+package fr.thinkbit.hytale.structurebuilder.param;
+
+import java.util.Map;
+
+/**
+ * Arguments bound by a {@link ParamSet}: every declared parameter is present,
+ * converted and within its declared limits.
+ */
+public final class Params {
+
+    private final Map<String, Object> values;
+
+    Params(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Param<T> param) {
+        if (!values.containsKey(param.getName())) {
+            throw new IllegalArgumentException("Parameter not declared: " + param.getName());
+        }
+        return (T) values.get(param.getName());
+    }
+}
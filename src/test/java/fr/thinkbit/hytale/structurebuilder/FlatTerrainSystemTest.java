@@ -0,0 +1,115 @@
+package fr.thinkbit.hytale.structurebuilder;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import fr.thinkbit.hytale.structurebuilder.generator.ColumnProfile;
+import fr.thinkbit.hytale.structurebuilder.generator.FlatRegion;
+import fr.thinkbit.hytale.structurebuilder.generator.Tile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlatTerrainSystemTest {
+
+    @TempDir
+    Path dir;
+
+    private static final ColumnProfile PROFILE =
+            new ColumnProfile.Builder().run(60, 63, "Rock_Stone").run(64, 64, "Soil_Grass").build();
+
+    @Test
+    void regionsSurviveARestart() {
+        Path file = dir.resolve("data/flat-regions.json");
+        var profile = new ColumnProfile.Builder().run(60, 63, "Rock_Stone").run(64, 64, "Soil_Grass").build();
+        var terrain = new FlatTerrainSystem(file);
+        terrain.add(new FlatRegion("a", "default", 0, 0, 99, 99, profile));
+        terrain.add(new FlatRegion("b", "default", 500, 500, 599, 599, profile));
+
+        assertTrue(terrain.remove("a"));
+        assertFalse(terrain.remove("a"));
+
+        var reloaded = new FlatTerrainSystem(file);
+        assertEquals(1, reloaded.getRegions().size());
+        assertEquals("b", reloaded.getRegions().get(0).id());
+        assertEquals(profile.getRuns(), reloaded.getRegions().get(0).profile().getRuns());
+    }
+
+    @Test
+    void malformedEntriesAreSkippedAndKept() throws Exception {
+        Path file = dir.resolve("flat-regions.json");
+        JsonArray entries = new JsonArray();
+        entries.add(new FlatRegion("a", "default", 0, 0, 99, 99, PROFILE).toJson());
+        JsonObject broken = new JsonObject();
+        broken.addProperty("id", "b");
+        entries.add(broken);
+        entries.add("not a region");
+        Files.writeString(file, entries.toString());
+
+        var terrain = new FlatTerrainSystem(file);
+
+        assertEquals(1, terrain.getRegions().size());
+        assertEquals(2, terrain.getLoadErrors().size());
+
+        // Saving keeps the unreadable entries for an operator to fix
+        terrain.add(new FlatRegion("c", "default", 500, 500, 599, 599, PROFILE));
+        JsonArray saved = JsonParser.parseString(Files.readString(file)).getAsJsonArray();
+        assertEquals(4, saved.size());
+        assertTrue(saved.contains(broken));
+        assertEquals(2, new FlatTerrainSystem(file).getRegions().size());
+    }
+
+    @Test
+    void malformedFileIsMovedAside() throws Exception {
+        Path file = dir.resolve("flat-regions.json");
+        Files.writeString(file, "[{\"id\":");
+
+        var terrain = new FlatTerrainSystem(file);
+
+        assertTrue(terrain.getRegions().isEmpty());
+        assertEquals(1, terrain.getLoadErrors().size());
+        assertFalse(Files.exists(file));
+        assertEquals("[{\"id\":", Files.readString(dir.resolve("flat-regions.json.malformed")));
+    }
+
+    @Test
+    void regionsChangeOnlyOnceSaved() throws Exception {
+        Path file = dir.resolve("flat-regions.json");
+        var terrain = new FlatTerrainSystem(file);
+        terrain.add(new FlatRegion("a", "default", 0, 0, 40, 40, PROFILE));
+        // The temp file the save writes to cannot be created
+        Files.createDirectory(dir.resolve("flat-regions.json.tmp"));
+
+        assertThrows(UncheckedIOException.class,
+                () -> terrain.add(new FlatRegion("b", "default", 500, 500, 540, 540, PROFILE)));
+        assertThrows(UncheckedIOException.class, () -> terrain.remove("a"));
+
+        assertEquals(List.of("a"), terrain.getRegions().stream().map(FlatRegion::id).toList());
+        assertTrue(terrain.stampsFor("default", 16, 16).isEmpty(), "Unsaved region must not be stamped");
+        assertEquals(1, new FlatTerrainSystem(file).getRegions().size());
+    }
+
+    @Test
+    void stampsOnlyChunksOfTheRegionsWorld() {
+        var terrain = new FlatTerrainSystem(dir.resolve("flat-regions.json"));
+        terrain.add(new FlatRegion("a", "default", 0, 0, 40, 40, PROFILE));
+        terrain.add(new FlatRegion("b", "default", 20, 20, 60, 60, PROFILE));
+        terrain.add(new FlatRegion("c", "other", 0, 0, 40, 40, PROFILE));
+
+        var stamps = terrain.stampsFor("default", 1, 1);
+        assertEquals(List.of(new Tile(0, 32, 32, 40, 40), new Tile(0, 32, 32, 60, 60)),
+                stamps.stream().map(FlatTerrainSystem.Stamp::area).toList());
+        assertEquals(PROFILE, stamps.get(0).profile());
+
+        assertEquals(List.of(new Tile(0, 0, 0, 31, 31)),
+                terrain.stampsFor("other", 0, 0).stream().map(FlatTerrainSystem.Stamp::area).toList());
+        assertTrue(terrain.stampsFor("default", 2, 0).isEmpty(), "Chunk outside every region");
+        assertTrue(terrain.stampsFor("nether", 0, 0).isEmpty(), "World without regions");
+    }
+}
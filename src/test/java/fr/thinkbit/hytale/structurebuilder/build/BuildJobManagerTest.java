@@ -0,0 +1,228 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkWriter;
+import fr.thinkbit.hytale.structurebuilder.generator.PlatformGenerator;
+import fr.thinkbit.hytale.structurebuilder.generator.RecordingBlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
+import fr.thinkbit.hytale.structurebuilder.material.MaterialPresets;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildJobManagerTest {
+
+    private final Queue<Runnable> worldTicks = new ArrayDeque<>();
+    private final BuildPipeline pipeline = new BuildPipeline(Runnable::run);
+
+    private CompletableFuture<StructureResult> platform(BuildJob job) {
+        Map<String, Object> args = Map.of("x", 0, "y", 64, "z", 0, "width", 20, "depth", 20);
+        return pipeline.run(placer -> new PlatformGenerator().generate(args, MaterialPresets.COBBLESTONE, placer),
+                worldTicks::add, ChunkWriter.forPlacer(new RecordingBlockPlacer()), ApplyBudget.of(100, 1000),
+                job, job.getCancellationToken());
+    }
+
+    @Test
+    void jobReportsProgressUntilCompleted() {
+        var jobs = new BuildJobManager(8);
+        BuildJob job = jobs.submit("platform", this::platform);
+
+        assertSame(job, jobs.get(job.getId()));
+        assertEquals(BuildJob.State.APPLYING, job.getState());
+        assertEquals(0, job.getBlocksPlaced());
+
+        worldTicks.poll().run();
+        assertEquals(100, job.getBlocksPlaced());
+        assertFalse(job.isDone());
+
+        while (!worldTicks.isEmpty()) {
+            worldTicks.poll().run();
+        }
+        assertEquals(BuildJob.State.COMPLETED, job.getState());
+        assertEquals(400, job.getBlocksPlaced());
+        assertEquals(400, job.getResult().getBlocksPlaced());
+
+        var json = job.toJson();
+        assertEquals("completed", json.get("state").getAsString());
+        assertEquals("platform", json.getAsJsonObject("result").get("structureType").getAsString());
+    }
+
+    @Test
+    void failedJobKeepsTheCause() {
+        var jobs = new BuildJobManager(8);
+        BuildJob job = jobs.submit("platform", j -> pipeline.run(placer -> {
+            throw new IllegalArgumentException("Missing required parameter: x");
+        }, worldTicks::add, ChunkWriter.forPlacer(new RecordingBlockPlacer()), ApplyBudget.DEFAULT,
+                j, j.getCancellationToken()));
+
+        assertEquals(BuildJob.State.FAILED, job.getState());
+        assertEquals("Missing required parameter: x", job.getError());
+        assertNull(job.getResult());
+        assertTrue(worldTicks.isEmpty());
+    }
+
+    @Test
+    void cancelledJobStopsAndReportsWhatWasApplied() {
+        var jobs = new BuildJobManager(8);
+        BuildJob job = jobs.submit("platform", this::platform);
+
+        worldTicks.poll().run();
+        assertSame(job, jobs.cancel(job.getId()));
+        assertTrue(job.toJson().get("cancelRequested").getAsBoolean());
+        while (!worldTicks.isEmpty()) {
+            worldTicks.poll().run();
+        }
+
+        assertEquals(BuildJob.State.CANCELLED, job.getState());
+        assertEquals(100, job.getBlocksPlaced());
+        assertNull(job.getResult());
+        assertThrows(CancellationException.class, job::await);
+        assertFalse(job.cancel());
+        assertNull(jobs.cancel("no-such-job"));
+    }
+
+    @Test
+    void onlyTheNewestFinishedJobsAreRetained() {
+        var jobs = new BuildJobManager(2);
+        BuildJob running = jobs.submit("platform", listener -> new CompletableFuture<>());
+        BuildJob first = jobs.submit("platform", listener -> CompletableFuture.completedFuture(null));
+        BuildJob second = jobs.submit("platform", listener -> CompletableFuture.completedFuture(null));
+        BuildJob third = jobs.submit("platform", listener -> CompletableFuture.completedFuture(null));
+
+        assertNull(jobs.get(first.getId()));
+        assertNotNull(jobs.get(second.getId()));
+        assertNotNull(jobs.get(third.getId()));
+        assertNotNull(jobs.get(running.getId()));
+    }
+
+    @Test
+    void jobsBeyondTheLimitWaitAndAreStartedRoundRobin() {
+        var jobs = new BuildJobManager(1, 10, 10, 16);
+        List<String> started = new ArrayList<>();
+        List<CompletableFuture<StructureResult>> pending = new ArrayList<>();
+        Function<String, Function<BuildJob, CompletableFuture<StructureResult>>> build = name -> job -> {
+            started.add(name);
+            var future = new CompletableFuture<StructureResult>();
+            pending.add(future);
+            return future;
+        };
+
+        BuildJob first = jobs.submit("a", "platform", build.apply("a1"));
+        BuildJob queued = jobs.submit("a", "platform", build.apply("a2"));
+        jobs.submit("a", "platform", build.apply("a3"));
+        jobs.submit("b", "platform", build.apply("b1"));
+
+        assertEquals(BuildJob.State.QUEUED, queued.getState());
+        assertEquals(1, jobs.getRunningCount());
+        assertEquals(3, jobs.getQueuedCount());
+
+        // Each finished job hands its slot to the next client in turn
+        for (int i = 0; i < 3; i++) {
+            pending.get(i).complete(null);
+        }
+        assertEquals(List.of("a1", "a2", "b1", "a3"), started);
+        assertEquals(BuildJob.State.COMPLETED, first.getState());
+        assertEquals(0, jobs.getQueuedCount());
+    }
+
+    @Test
+    void fullQueueRejectsWithBusy() {
+        var jobs = new BuildJobManager(1, 2, 1, 16);
+        Function<BuildJob, CompletableFuture<StructureResult>> never = job -> new CompletableFuture<>();
+        jobs.submit("a", "platform", never);
+        jobs.submit("a", "platform", never);
+
+        // Client a already has its one queued job; b still gets in
+        var e = assertThrows(BuildRejectedException.class, () -> jobs.submit("a", "platform", never));
+        assertTrue(e.getMessage().contains("Retry later"));
+        jobs.submit("b", "platform", never);
+        assertThrows(BuildRejectedException.class, () -> jobs.submit("c", "platform", never));
+    }
+
+    @Test
+    void cancellingAQueuedJobFreesItsPlace() {
+        var jobs = new BuildJobManager(1, 1, 1, 16);
+        Function<BuildJob, CompletableFuture<StructureResult>> never = job -> new CompletableFuture<>();
+        jobs.submit("a", "platform", never);
+        BuildJob queued = jobs.submit("a", "platform", job -> fail("cancelled job must not start"));
+
+        jobs.cancel(queued.getId());
+
+        assertEquals(BuildJob.State.CANCELLED, queued.getState());
+        assertThrows(CancellationException.class, queued::await);
+        assertEquals(0, jobs.getQueuedCount());
+        jobs.submit("a", "platform", never);
+    }
+
+    @Test
+    void jobsAreOrchestratedOnVirtualThreads() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var jobs = new BuildJobManager(1, 1, 1, 16, executor);
+            var startedVirtual = new AtomicBoolean();
+            BuildJob job = jobs.submit("platform", j -> {
+                startedVirtual.set(Thread.currentThread().isVirtual());
+                return CompletableFuture.completedFuture(new StructureResult(0, 0, 0, 0, 0, 0, 0, 0, "platform"));
+            });
+
+            job.await();
+
+            assertTrue(startedVirtual.get());
+            assertEquals(BuildJob.State.COMPLETED, job.getState());
+        }
+    }
+
+    @Test
+    void awaitGivesUpAtTheDeadlineWithoutEndingTheJob() {
+        var jobs = new BuildJobManager(8);
+        BuildJob job = jobs.submit("platform", this::platform);
+
+        assertThrows(TimeoutException.class, () -> job.await(10));
+        assertEquals(BuildJob.State.APPLYING, job.getState());
+
+        worldTicks.poll().run();
+        assertTrue(job.getProgress().toJson().has("worldQueueWaitMs"));
+    }
+
+    @Test
+    void repeatedIdempotencyKeyAttachesToTheSameJob() {
+        var jobs = new BuildJobManager(1, 4, 4, 16);
+        BuildJob first = jobs.submit("a", "retry-1", "platform", this::platform);
+        BuildJob retry = jobs.submit("a", "retry-1", "platform", job -> fail("duplicate must not start"));
+        assertSame(first, retry);
+        assertEquals(1, jobs.size());
+
+        while (!worldTicks.isEmpty()) {
+            worldTicks.poll().run();
+        }
+        assertSame(first, jobs.submit("a", "retry-1", "platform", job -> fail("duplicate must not start")));
+        assertTrue(worldTicks.isEmpty());
+
+        // Same key from another client is a different request
+        assertNotSame(first, jobs.submit("b", "retry-1", "platform", this::platform));
+    }
+
+    @Test
+    void idempotencyKeyReusedForAnotherRequestIsRejected() {
+        var jobs = new BuildJobManager(1, 4, 4, 16);
+        BuildJob first = jobs.submit("a", "key-1", "build_structure:1234", "platform", this::platform);
+
+        var error = assertThrows(BuildRejectedException.class, () -> jobs.submit("a", "key-1",
+                "create_flat_world:5678", "flat_world", job -> fail("a different request must not start")));
+        assertTrue(error.getMessage().contains(first.getId()), error.getMessage());
+
+        assertSame(first, jobs.submit("a", "key-1", "build_structure:1234", "platform",
+                job -> fail("the same request must be reused")));
+        assertEquals(1, jobs.size());
+    }
+}
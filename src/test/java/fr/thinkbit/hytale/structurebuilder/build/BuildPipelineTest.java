@@ -0,0 +1,327 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import fr.thinkbit.hytale.structurebuilder.generator.BlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.generator.BuildProgress;
+import fr.thinkbit.hytale.structurebuilder.generator.CancellationToken;
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkWriter;
+import fr.thinkbit.hytale.structurebuilder.generator.FlatWorldGenerator;
+import fr.thinkbit.hytale.structurebuilder.generator.HouseGenerator;
+import fr.thinkbit.hytale.structurebuilder.generator.PlatformGenerator;
+import fr.thinkbit.hytale.structurebuilder.generator.RecordingBlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
+import fr.thinkbit.hytale.structurebuilder.generator.Tile;
+import fr.thinkbit.hytale.structurebuilder.generator.TiledGeneration;
+import fr.thinkbit.hytale.structurebuilder.material.MaterialPresets;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildPipelineTest {
+
+    @Test
+    void generatesOffTheWorldThreadAndAppliesOnIt() throws Exception {
+        ExecutorService workers = Executors.newSingleThreadExecutor(r -> new Thread(r, "worker"));
+        ExecutorService worldThread = Executors.newSingleThreadExecutor(r -> new Thread(r, "world"));
+        try {
+            var pipeline = new BuildPipeline(workers);
+            AtomicReference<String> generatedOn = new AtomicReference<>();
+            AtomicReference<String> appliedOn = new AtomicReference<>();
+            var recorder = new RecordingBlockPlacer();
+
+            Map<String, Object> args = new HashMap<>();
+            args.put("x", 0);
+            args.put("y", 64);
+            args.put("z", 0);
+
+            StructureResult result = pipeline.run(placer -> {
+                generatedOn.set(Thread.currentThread().getName());
+                return new HouseGenerator().generate(args, MaterialPresets.STONE_CASTLE, placer);
+            }, worldThread, ChunkWriter.forPlacer(new RecordingBlockPlacer() {
+                @Override
+                public void setBlock(int x, int y, int z, String blockType) {
+                    appliedOn.set(Thread.currentThread().getName());
+                    recorder.setBlock(x, y, z, blockType);
+                }
+            }), ApplyBudget.DEFAULT).get(5, TimeUnit.SECONDS);
+
+            assertEquals("worker", generatedOn.get());
+            assertEquals("world", appliedOn.get());
+            assertEquals(result.getEffectiveWrites(), recorder.getBlockCount());
+            assertEquals(result.getBlocksPlaced(), result.getRawWrites());
+        } finally {
+            workers.shutdownNow();
+            worldThread.shutdownNow();
+        }
+    }
+
+    @Test
+    void generationFailureSkipsTheWorld() {
+        var pipeline = new BuildPipeline(Runnable::run);
+        AtomicReference<Boolean> worldTouched = new AtomicReference<>(false);
+
+        var future = pipeline.run(placer -> {
+            throw new IllegalArgumentException("Missing required parameter: x");
+        }, task -> worldTouched.set(true), ChunkWriter.forPlacer(new RecordingBlockPlacer()), ApplyBudget.DEFAULT);
+
+        assertTrue(future.isCompletedExceptionally());
+        assertFalse(worldTouched.get());
+    }
+
+    @Test
+    void batchMergesEntriesIntoOneStage() throws Exception {
+        var pipeline = new BuildPipeline(Runnable::run);
+        var recorder = new RecordingBlockPlacer();
+        var platform = new PlatformGenerator();
+        // Two 10x10 platforms overlapping on a 5x10 strip, plus one far away
+        Map<String, Object> first = Map.of("x", 0, "y", 64, "z", 0);
+        Map<String, Object> second = Map.of("x", 5, "y", 64, "z", 0);
+        Map<String, Object> third = Map.of("x", 500, "y", 64, "z", 500, "width", 2, "depth", 2);
+
+        BatchResult result = pipeline.runAll(List.of(
+                placer -> platform.generate(first, MaterialPresets.STONE_CASTLE, placer),
+                placer -> platform.generate(second, MaterialPresets.STONE_CASTLE, placer),
+                placer -> platform.generate(third, MaterialPresets.STONE_CASTLE, placer)
+        ), Runnable::run, ChunkWriter.forPlacer(recorder), ApplyBudget.DEFAULT).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, result.entries().size());
+        assertEquals(100, result.entries().get(0).getBlocksPlaced());
+        assertEquals(100, result.entries().get(1).getBlocksPlaced());
+        assertEquals(4, result.entries().get(2).getBlocksPlaced());
+
+        StructureResult totals = result.totals();
+        assertEquals(204, totals.getBlocksPlaced());
+        assertEquals(204, totals.getRawWrites());
+        assertEquals(154, totals.getEffectiveWrites());
+        assertEquals(154, recorder.getBlockCount());
+        assertEquals(0, totals.getMinX());
+        assertEquals(501, totals.getMaxX());
+        assertEquals(3, result.toJson().getAsJsonArray("structures").size());
+    }
+
+    @Test
+    void batchFailureAppliesNothing() {
+        var pipeline = new BuildPipeline(Runnable::run);
+        var recorder = new RecordingBlockPlacer();
+        Map<String, Object> ok = Map.of("x", 0, "y", 64, "z", 0);
+
+        var future = pipeline.runAll(List.of(
+                placer -> new PlatformGenerator().generate(ok, MaterialPresets.STONE_CASTLE, placer),
+                placer -> {
+                    throw new IllegalArgumentException("Missing required parameter: x");
+                }
+        ), Runnable::run, ChunkWriter.forPlacer(recorder), ApplyBudget.DEFAULT);
+
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(0, recorder.getBlockCount());
+    }
+
+    @Test
+    void tiledFlatWorldMatchesTheSingleStage() throws Exception {
+        var generator = new FlatWorldGenerator();
+        Map<String, Object> args = Map.of("x", 10, "z", -20, "radius", 70, "depth", 2, "clearHeight", 3);
+        var single = new RecordingBlockPlacer();
+        var tiled = new RecordingBlockPlacer();
+        var pool = new ForkJoinPool(4);
+        try {
+            var pipeline = new BuildPipeline(Runnable::run, pool);
+            StructureResult expected = pipeline.run(placer -> generator.generate(args, MaterialPresets.getDefault(),
+                    placer), Runnable::run, ChunkWriter.forPlacer(single), ApplyBudget.DEFAULT).get(5, TimeUnit.SECONDS);
+            var plan = generator.plan(generator.getParams().bind(args));
+            var progress = new AtomicReference<BuildProgress>();
+            BuildListener listener = new BuildListener() {
+                @Override
+                public void onGenerating(BuildProgress p) {
+                    progress.set(p);
+                }
+            };
+            StructureResult result = pipeline.runTiled(plan, Runnable::run, ChunkWriter.forPlacer(tiled),
+                    ApplyBudget.DEFAULT, listener, CancellationToken.NONE).get(5, TimeUnit.SECONDS);
+
+            assertTrue(plan.getTiles().size() > 1);
+            assertEquals(expected.getBlocksPlaced(), result.getBlocksPlaced());
+            assertEquals(expected.getEffectiveWrites(), result.getEffectiveWrites());
+            assertEquals(expected.getMinY(), result.getMinY());
+            assertEquals(expected.getMaxX(), result.getMaxX());
+            assertEquals(new HashSet<>(single.getBlocks()), new HashSet<>(tiled.getBlocks()));
+            assertEquals(result.getBlocksPlaced(), progress.get().getBlocksStaged());
+            assertEquals(1.0, progress.get().getFractionDone());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void tiledFailureAppliesNothing() {
+        var generator = new FlatWorldGenerator();
+        var plan = generator.plan(generator.getParams().bind(Map.of("x", 0, "z", 0, "radius", 40)));
+        var recorder = new RecordingBlockPlacer();
+        var cancellation = new CancellationToken();
+        cancellation.cancel();
+
+        var future = new BuildPipeline(Runnable::run).runTiled(plan, Runnable::run, ChunkWriter.forPlacer(recorder),
+                ApplyBudget.DEFAULT, BuildListener.NONE, cancellation);
+
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals(0, recorder.getBlockCount());
+    }
+
+    @Test
+    void failingTileStopsTheOthers() throws Exception {
+        var otherStarted = new CountDownLatch(1);
+        var otherStopped = new CountDownLatch(1);
+        var generation = new TiledGeneration() {
+            @Override
+            public List<Tile> getTiles() {
+                return List.of(new Tile(0, 0, 0, 31, 31), new Tile(1, 32, 0, 63, 31));
+            }
+
+            @Override
+            public long getExpectedBlocks(Tile tile) {
+                return tile.getArea();
+            }
+
+            @Override
+            public void generateTile(Tile tile, BlockPlacer placer) {
+                if (tile.index() == 0) {
+                    awaitQuietly(otherStarted);
+                    throw new IllegalStateException("Tile 0 failed");
+                }
+                otherStarted.countDown();
+                // Keeps moving to new chunks, where staging checks for cancellation
+                try {
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                    for (int x = 0; System.nanoTime() < deadline; x += 32) {
+                        placer.setBlock(x, 0, 0, "Rock_Stone");
+                    }
+                } catch (CancellationException e) {
+                    otherStopped.countDown();
+                    throw e;
+                }
+            }
+
+            @Override
+            public StructureResult toResult(long blocksPlaced, long buildTimeMs) {
+                return new StructureResult(blocksPlaced, 0, 0, 0, 63, 0, 31, buildTimeMs, "test");
+            }
+        };
+        var recorder = new RecordingBlockPlacer();
+        var pool = new ForkJoinPool(2);
+        try {
+            var future = new BuildPipeline(Runnable::run, pool).runTiled(generation, Runnable::run,
+                    ChunkWriter.forPlacer(recorder), ApplyBudget.DEFAULT, BuildListener.NONE, CancellationToken.NONE);
+
+            var error = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+            assertTrue(otherStopped.await(5, TimeUnit.SECONDS), "Tile 1 should be cancelled");
+            assertEquals(0, recorder.getBlockCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void tilesApplyWhileLaterOnesAreStillStaging() throws Exception {
+        var firstApplied = new CountDownLatch(1);
+        // The second tile only finishes staging once the first has been written
+        var generation = new TiledGeneration() {
+            @Override
+            public List<Tile> getTiles() {
+                return List.of(new Tile(0, 0, 0, 31, 31), new Tile(1, 32, 0, 63, 31));
+            }
+
+            @Override
+            public long getExpectedBlocks(Tile tile) {
+                return tile.getArea();
+            }
+
+            @Override
+            public void generateTile(Tile tile, BlockPlacer placer) {
+                try {
+                    if (tile.index() == 1 && !firstApplied.await(5, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Tile 0 was not applied before tile 1 was staged");
+                    }
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                placer.fill(tile.minX(), 0, tile.minZ(), tile.maxX(), 0, tile.maxZ(), "Rock_Stone");
+            }
+
+            @Override
+            public StructureResult toResult(long blocksPlaced, long buildTimeMs) {
+                return new StructureResult(blocksPlaced, 0, 0, 0, 63, 0, 31, buildTimeMs, "test");
+            }
+        };
+        var recorder = new RecordingBlockPlacer();
+        var pool = new ForkJoinPool(2);
+        try {
+            List<Integer> applied = new ArrayList<>();
+            StructureResult result = new BuildPipeline(Runnable::run, pool).runTiled(generation, Runnable::run,
+                    ChunkWriter.forPlacer(recorder), ApplyBudget.DEFAULT, BuildListener.NONE,
+                    CancellationToken.NONE, tile -> {
+                        applied.add(tile.index());
+                        firstApplied.countDown();
+                    }).get(10, TimeUnit.SECONDS);
+
+            assertEquals(List.of(0, 1), applied);
+            assertEquals(2048, result.getBlocksPlaced());
+            assertEquals(2048, recorder.getBlockCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void tilesAreReportedInOrderAndResumeSkipsThem() throws Exception {
+        var generator = new FlatWorldGenerator();
+        var plan = generator.plan(generator.getParams().bind(Map.of("x", 0, "z", 0, "radius", 100, "depth", 1,
+                "clearHeight", 0)));
+        var pool = new ForkJoinPool(4);
+        try {
+            var pipeline = new BuildPipeline(Runnable::run, pool);
+            List<Integer> applied = new ArrayList<>();
+            var full = new RecordingBlockPlacer();
+            pipeline.runTiled(plan, Runnable::run, ChunkWriter.forPlacer(full), ApplyBudget.DEFAULT,
+                    BuildListener.NONE, CancellationToken.NONE, tile -> applied.add(tile.index()))
+                    .get(5, TimeUnit.SECONDS);
+
+            int tiles = plan.getTiles().size();
+            assertEquals(IntStream.range(0, tiles).boxed().toList(), applied);
+
+            // Resuming after the first two tiles writes exactly the rest
+            var rest = new RecordingBlockPlacer();
+            List<Integer> resumed = new ArrayList<>();
+            pipeline.runTiled(plan.from(2), Runnable::run, ChunkWriter.forPlacer(rest), ApplyBudget.DEFAULT,
+                    BuildListener.NONE, CancellationToken.NONE, tile -> resumed.add(tile.index()))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals(IntStream.range(2, tiles).boxed().toList(), resumed);
+            long firstTwo = plan.getTiles().get(0).getArea() + plan.getTiles().get(1).getArea();
+            assertEquals(full.getBlockCount() - firstTwo * 2, rest.getBlockCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
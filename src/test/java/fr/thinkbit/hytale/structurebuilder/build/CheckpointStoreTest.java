@@ -0,0 +1,70 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static TileCheckpoint checkpoint(String id) {
+        JsonObject params = new JsonObject();
+        params.addProperty("x", 100);
+        params.addProperty("surfaceBlock", "Soil_Grass");
+        return new TileCheckpoint(id, "flat_world", params, true, 25);
+    }
+
+    @Test
+    void savedCheckpointSurvivesANewStore() {
+        TileCheckpoint checkpoint = checkpoint("job-1");
+        checkpoint.tileApplied(0);
+        checkpoint.tileApplied(1);
+        new CheckpointStore(dir).save(checkpoint);
+
+        TileCheckpoint loaded = new CheckpointStore(dir).load("job-1");
+
+        assertEquals(2, loaded.getCompletedTiles());
+        assertEquals(25, loaded.getTileCount());
+        assertTrue(loaded.isSkipUnchanged());
+        assertEquals(100, loaded.getParams().get("x").getAsInt());
+        assertEquals("Soil_Grass", loaded.getParams().get("surfaceBlock").getAsString());
+    }
+
+    @Test
+    void completedTilesOnlyMoveForward() {
+        TileCheckpoint checkpoint = checkpoint("job-1");
+        checkpoint.tileApplied(4);
+        checkpoint.tileApplied(2);
+        assertEquals(5, checkpoint.getCompletedTiles());
+    }
+
+    @Test
+    void listSkipsUnreadableFilesAndDeleteForgets() throws Exception {
+        var store = new CheckpointStore(dir);
+        store.save(checkpoint("job-1"));
+        store.save(checkpoint("job-2"));
+        Files.writeString(dir.resolve("broken.json"), "{\"id\":");
+
+        assertEquals(2, store.list().size());
+
+        store.delete("job-1");
+        assertNull(store.load("job-1"));
+        assertEquals(1, store.list().size());
+        assertFalse(Files.exists(dir.resolve("job-1.tmp")));
+    }
+
+    @Test
+    void idsCannotEscapeTheDirectory() {
+        var store = new CheckpointStore(dir);
+        assertThrows(IllegalArgumentException.class, () -> store.load("../../server"));
+        assertNull(new CheckpointStore(dir.resolve("missing")).load("job-1"));
+        assertTrue(new CheckpointStore(dir.resolve("missing")).list().isEmpty());
+    }
+}
@@ -0,0 +1,24 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import fr.thinkbit.hytale.structurebuilder.generator.DryRunBlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.material.LocalBlockRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CostEstimateTest {
+
+    @Test
+    void projectsTicksFromTheBlockBudget() {
+        var placer = new DryRunBlockPlacer(LocalBlockRegistry.getShared());
+        placer.fill(0, 0, 0, 99, 9, 99, "Rock_Stone");
+
+        CostEstimate estimate = CostEstimate.of(placer, ApplyBudget.of(30_000, 10));
+
+        assertEquals(100_000, estimate.blocks());
+        assertEquals(16, estimate.chunks());
+        assertEquals(4, estimate.ticks());
+        assertEquals(4 * CostEstimate.TICK_MILLIS, estimate.applyMs());
+        assertFalse(estimate.toJson().has("expectedBlocks"));
+    }
+}
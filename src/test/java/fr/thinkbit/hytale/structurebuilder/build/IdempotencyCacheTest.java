@@ -0,0 +1,56 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+    private final IdempotencyCache cache = new IdempotencyCache(2, 1000, now::get);
+
+    private static BuildJob job() {
+        return new BuildJob("id", "client", "platform", j -> new CompletableFuture<>());
+    }
+
+    @Test
+    void runningJobsNeverExpire() {
+        BuildJob job = job();
+        cache.put("k", "platform", job);
+        now.addAndGet(10_000);
+        assertSame(job, cache.find("k").job());
+    }
+
+    @Test
+    void completedJobsExpireAfterTheTtl() {
+        BuildJob job = job();
+        cache.put("k", "platform", job);
+        job.complete(new StructureResult(1, 0, 0, 0, 0, 0, 0, 0, "platform"));
+        now.set(job.getFinishedAt() + 999);
+        assertSame(job, cache.find("k").job());
+        now.set(job.getFinishedAt() + 1000);
+        assertNull(cache.find("k"));
+    }
+
+    @Test
+    void failedJobsAreForgottenSoTheyCanBeRetried() {
+        BuildJob job = job();
+        cache.put("k", "platform", job);
+        job.fail(new IllegalStateException("boom"));
+        assertNull(cache.find("k"));
+    }
+
+    @Test
+    void oldestKeysAreDroppedBeyondTheBound() {
+        cache.put("a", "platform", job());
+        cache.put("b", "platform", job());
+        cache.put("c", "platform", job());
+        assertEquals(2, cache.size());
+        assertNull(cache.find("a"));
+        assertNotNull(cache.find("c"));
+    }
+}
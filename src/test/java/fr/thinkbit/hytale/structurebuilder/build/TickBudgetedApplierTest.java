@@ -0,0 +1,231 @@
+package fr.thinkbit.hytale.structurebuilder.build;
+
+import fr.thinkbit.hytale.structurebuilder.generator.BuildProgress;
+import fr.thinkbit.hytale.structurebuilder.generator.CancellationToken;
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkBatch;
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkBatchingBlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkWriter;
+import fr.thinkbit.hytale.structurebuilder.generator.RecordingBlockPlacer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickBudgetedApplierTest {
+
+    /** Runs one queued task per "tick", like the world task queue. */
+    private final Queue<Runnable> tickQueue = new ArrayDeque<>();
+
+    private int runTicks() {
+        int ticks = 0;
+        while (!tickQueue.isEmpty()) {
+            tickQueue.poll().run();
+            ticks++;
+        }
+        return ticks;
+    }
+
+    /** Writer that runs {@code action} for every slice it is handed. */
+    private static ChunkWriter onEachSlice(Runnable action) {
+        return new ChunkWriter() {
+            @Override
+            public void writeChunk(ChunkBatch batch, int from, int to) {
+                action.run();
+            }
+
+            @Override
+            public void fillChunk(ChunkBatch batch, int fill, int fromY, int toY) {
+                action.run();
+            }
+        };
+    }
+
+    private static ChunkBatchingBlockPlacer stage(int sizeX, int sizeZ) {
+        var placer = new ChunkBatchingBlockPlacer();
+        for (int x = 0; x < sizeX; x++) {
+            for (int z = 0; z < sizeZ; z++) {
+                placer.setBlock(x, 0, z, "Rock_Stone");
+            }
+        }
+        return placer;
+    }
+
+    @Test
+    void spreadsWritesOverTicksByBlockBudget() throws Exception {
+        var placer = stage(64, 64); // 4096 blocks over 4 chunks
+        var recorder = new RecordingBlockPlacer();
+        var applier = new TickBudgetedApplier(tickQueue::add, ChunkWriter.forPlacer(recorder),
+                new ApplyBudget(1000, TimeUnit.SECONDS.toNanos(10)));
+
+        CompletableFuture<Long> done = applier.apply(placer.drainBatches());
+        assertFalse(done.isDone(), "Nothing should run before the first tick");
+
+        int ticks = runTicks();
+
+        assertEquals(5, ticks);
+        assertEquals(5, applier.getTicks());
+        assertEquals(4096L, done.get());
+        assertEquals(4096, recorder.getBlockCount());
+        assertTrue(recorder.hasBlockAt(63, 0, 63, "Rock_Stone"));
+    }
+
+    @Test
+    void timeBudgetEndsTheSlice() throws Exception {
+        var placer = stage(32, 32);
+        ChunkWriter slow = onEachSlice(() -> {
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        var applier = new TickBudgetedApplier(tickQueue::add, slow,
+                new ApplyBudget(Integer.MAX_VALUE, TimeUnit.MILLISECONDS.toNanos(1)));
+
+        CompletableFuture<Long> done = applier.apply(placer.drainBatches());
+        int ticks = runTicks();
+
+        // 1024 blocks written in slices of 256, one slice per tick
+        assertEquals(4, ticks);
+        assertEquals(1024L, done.get());
+    }
+
+    @Test
+    void fillsAreAppliedLayerByLayer() throws Exception {
+        var placer = new ChunkBatchingBlockPlacer();
+        placer.fill(0, 0, 0, 31, 9, 31, "Rock_Stone"); // 10 layers of 1024 blocks
+        placer.setBlock(3, 20, 3, "Furniture_Lumberjack_Lantern");
+        var recorder = new RecordingBlockPlacer();
+        var applier = new TickBudgetedApplier(tickQueue::add, ChunkWriter.forPlacer(recorder),
+                new ApplyBudget(2048, TimeUnit.SECONDS.toNanos(10)));
+
+        CompletableFuture<Long> done = applier.apply(placer.drainBatches());
+        int ticks = runTicks();
+
+        assertEquals(6, ticks, "2 layers per tick, then the single block");
+        assertEquals(10241L, done.get());
+        assertEquals(10241, recorder.getBlockCount());
+        assertTrue(recorder.hasBlockAt(31, 9, 31, "Rock_Stone"));
+        assertTrue(recorder.hasBlockAt(3, 20, 3, "Furniture_Lumberjack_Lantern"));
+    }
+
+    @Test
+    void budgetSmallerThanALayerSplitsTheLayer() throws Exception {
+        var placer = new ChunkBatchingBlockPlacer();
+        placer.fill(0, 0, 0, 31, 1, 31, "Rock_Stone"); // 2 layers of 1024 blocks
+        var recorder = new RecordingBlockPlacer();
+        var applier = new TickBudgetedApplier(tickQueue::add, ChunkWriter.forPlacer(recorder),
+                new ApplyBudget(100, TimeUnit.SECONDS.toNanos(10)));
+
+        CompletableFuture<Long> done = applier.apply(placer.drainBatches());
+        int ticks = 0;
+        long before = 0;
+        while (!tickQueue.isEmpty()) {
+            tickQueue.poll().run();
+            ticks++;
+            assertTrue(recorder.getBlockCount() - before <= 100, "tick " + ticks + " went over the budget");
+            before = recorder.getBlockCount();
+        }
+
+        assertEquals(21, ticks);
+        assertEquals(2048L, done.get());
+        assertEquals(2048, recorder.getPositionCount());
+        assertTrue(recorder.hasBlockAt(31, 1, 31, "Rock_Stone"));
+    }
+
+    @Test
+    void feedIsAppliedAsItIsOffered() throws Exception {
+        var feed = new BatchFeed();
+        var recorder = new RecordingBlockPlacer();
+        var applier = new TickBudgetedApplier(tickQueue::add, ChunkWriter.forPlacer(recorder), ApplyBudget.DEFAULT);
+        CompletableFuture<Long> done = applier.apply(feed, batch -> {});
+        assertEquals(0, runTicks(), "Nothing to apply until the first offer");
+
+        feed.offer(stage(32, 32).drainBatches());
+        runTicks();
+        assertEquals(1024, recorder.getBlockCount());
+        assertFalse(done.isDone(), "The feed is still open");
+
+        var second = new ChunkBatchingBlockPlacer();
+        second.fill(32, 0, 0, 63, 0, 31, "Rock_Stone");
+        feed.offer(second.drainBatches());
+        feed.close();
+        runTicks();
+
+        assertEquals(2048L, done.get());
+        assertTrue(recorder.hasBlockAt(63, 0, 31, "Rock_Stone"));
+    }
+
+    @Test
+    void emptyStageCompletesInOneTick() throws Exception {
+        var applier = new TickBudgetedApplier(tickQueue::add, onEachSlice(() -> {}), ApplyBudget.DEFAULT);
+        CompletableFuture<Long> done = applier.apply(new ChunkBatchingBlockPlacer().drainBatches());
+        assertEquals(1, runTicks());
+        assertEquals(0L, done.get());
+    }
+
+    @Test
+    void writerFailureFailsTheFuture() {
+        var placer = stage(4, 4);
+        var applier = new TickBudgetedApplier(tickQueue::add, onEachSlice(() -> {
+            throw new IllegalStateException("chunk not loaded");
+        }), ApplyBudget.DEFAULT);
+
+        CompletableFuture<Long> done = applier.apply(placer.drainBatches());
+        runTicks();
+        assertTrue(done.isCompletedExceptionally());
+    }
+
+    @Test
+    void cancellationStopsBeforeTheNextSlice() {
+        var placer = stage(64, 64);
+        var token = new CancellationToken();
+        var recorder = new RecordingBlockPlacer();
+        var applier = new TickBudgetedApplier(tickQueue::add, ChunkWriter.forPlacer(recorder),
+                ApplyBudget.of(1000, 1000), token, new BuildProgress());
+        CompletableFuture<Long> done = applier.apply(placer.drainBatches());
+
+        tickQueue.poll().run();
+        token.cancel();
+        runTicks();
+
+        assertThrows(CancellationException.class, done::get);
+        assertEquals(1000, applier.getBlocksApplied());
+        assertEquals(1000, recorder.getBlockCount());
+    }
+
+    @Test
+    void publishesProgressAfterEachSlice() {
+        var placer = stage(64, 64); // 4 chunks of 1024 blocks
+        var progress = new BuildProgress();
+        var applier = new TickBudgetedApplier(tickQueue::add, onEachSlice(() -> {}),
+                ApplyBudget.of(1024, 1000), CancellationToken.NONE, progress);
+        applier.apply(placer.drainBatches());
+
+        assertEquals(4, progress.getChunksTotal());
+        assertEquals(4096, progress.getEstimatedTotal());
+        assertEquals(0, progress.getFractionDone());
+
+        tickQueue.poll().run();
+        assertEquals(1024, progress.getBlocksApplied());
+        assertEquals(1, progress.getChunksCompleted());
+        assertEquals(0.25, progress.getFractionDone());
+        assertTrue(progress.getEstimatedRemainingMs() >= 0);
+
+        runTicks();
+        assertEquals(4, progress.getChunksCompleted());
+        assertEquals(1.0, progress.getFractionDone());
+        assertEquals(100.0, progress.toJson().get("percent").getAsDouble());
+    }
+
+    @Test
+    void rejectsEmptyBudget() {
+        assertThrows(IllegalArgumentException.class, () -> ApplyBudget.of(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> ApplyBudget.of(10, 0));
+    }
+}
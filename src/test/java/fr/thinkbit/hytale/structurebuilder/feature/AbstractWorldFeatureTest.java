@@ -0,0 +1,89 @@
+package fr.thinkbit.hytale.structurebuilder.feature;
+
+import fr.thinkbit.hytale.structurebuilder.build.ApplyBudget;
+import fr.thinkbit.hytale.structurebuilder.build.BuildJob;
+import fr.thinkbit.hytale.structurebuilder.build.BuildJobManager;
+import fr.thinkbit.hytale.structurebuilder.build.BuildPipeline;
+import fr.thinkbit.hytale.structurebuilder.generator.ChunkWriter;
+import fr.thinkbit.hytale.structurebuilder.generator.PlatformGenerator;
+import fr.thinkbit.hytale.structurebuilder.generator.RecordingBlockPlacer;
+import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
+import fr.thinkbit.hytale.structurebuilder.material.MaterialPresets;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbstractWorldFeatureTest {
+
+    private final Queue<Runnable> worldTicks = new ArrayDeque<>();
+    private final BuildPipeline pipeline = new BuildPipeline(Runnable::run);
+    private final BuildJobManager jobs = new BuildJobManager(1, 4, 4, 16);
+    private final BuildStructureFeature feature = new BuildStructureFeature();
+
+    // 400 blocks, 100 per tick
+    private CompletableFuture<StructureResult> platform(BuildJob job) {
+        Map<String, Object> args = Map.of("x", 0, "y", 64, "z", 0, "width", 20, "depth", 20);
+        return pipeline.run(placer -> new PlatformGenerator().generate(args, MaterialPresets.COBBLESTONE, placer),
+                worldTicks::add, ChunkWriter.forPlacer(new RecordingBlockPlacer()), ApplyBudget.of(100, 1000),
+                job, job.getCancellationToken());
+    }
+
+    private void runTicks() {
+        while (!worldTicks.isEmpty()) {
+            worldTicks.poll().run();
+        }
+    }
+
+    @Test
+    void timeoutWithoutAKeyCancelsTheJob() {
+        BuildJob job = jobs.submit("a", null, "platform", this::platform);
+        worldTicks.poll().run();
+        assertThrows(TimeoutException.class, () -> job.await(10));
+
+        String error = feature.timedOut(job, null, 10);
+
+        assertTrue(error.contains("100 blocks applied"), error);
+        assertTrue(error.endsWith("cancelled"), error);
+        runTicks();
+        assertEquals(BuildJob.State.CANCELLED, job.getState());
+        assertEquals(100, job.getBlocksPlaced());
+    }
+
+    @Test
+    void timeoutWithAKeyKeepsTheJobForTheRetry() {
+        BuildJob job = jobs.submit("a", "retry-1", "platform", this::platform);
+        worldTicks.poll().run();
+        assertThrows(TimeoutException.class, () -> job.await(10));
+
+        String error = feature.timedOut(job, "retry-1", 10);
+
+        assertTrue(error.contains("100 blocks applied"), error);
+        assertTrue(error.contains("still running"), error);
+        assertEquals(BuildJob.State.APPLYING, job.getState());
+        assertSame(job, jobs.submit("a", "retry-1", "platform", j -> fail("the running job must be reused")));
+
+        runTicks();
+        assertEquals(BuildJob.State.COMPLETED, job.getState());
+        assertEquals(400, job.getBlocksPlaced());
+    }
+
+    @Test
+    void requestDescriptionIgnoresJobOptionsOnly() {
+        Map<String, Object> args = Map.of("structureType", "platform", "x", 0, "y", 64, "z", 0);
+        Map<String, Object> retry = Map.of("z", 0, "y", 64, "x", 0, "structureType", "platform",
+                "async", true, "timeoutMs", 5000, "idempotencyKey", "retry-1");
+
+        String request = feature.describeRequest(args);
+
+        assertTrue(request.startsWith("build_structure:"), request);
+        assertEquals(request, feature.describeRequest(retry));
+        assertNotEquals(request, feature.describeRequest(Map.of("structureType", "platform", "x", 1, "y", 64, "z", 0)));
+        assertNotEquals(request, new CreateFlatWorldFeature(null, null).describeRequest(args));
+    }
+}
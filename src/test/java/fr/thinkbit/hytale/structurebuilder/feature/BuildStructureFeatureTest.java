@@ -1,5 +1,6 @@
 package fr.thinkbit.hytale.structurebuilder.feature;
 
+import com.google.gson.JsonParser;
 import fr.thinkbit.hytale.structurebuilder.generator.RecordingBlockPlacer;
 import fr.thinkbit.hytale.structurebuilder.generator.StructureResult;
 import fr.thinkbit.hytale.structurebuilder.material.MaterialPresets;
@@ -36,6 +37,19 @@ class BuildStructureFeatureTest {
         assertTrue(schema.contains("\"z\""));
     }
 
+    @Test
+    void inputSchemaComesFromGeneratorDeclarations() {
+        var props = JsonParser.parseString(feature.getInputSchema())
+                .getAsJsonObject().getAsJsonObject("properties");
+
+        var width = props.getAsJsonObject("width");
+        assertEquals(1, width.get("minimum").getAsInt());
+        assertEquals(256, width.get("maximum").getAsInt());
+        assertTrue(width.get("description").getAsString().contains("house: 10"));
+        assertTrue(props.getAsJsonObject("floors").get("description").getAsString().contains("(house, default: 1)"));
+        assertEquals(3, props.getAsJsonObject("roofStyle").getAsJsonArray("enum").size());
+    }
+
     @Test
     void generatePlatform() {
         var placer = new RecordingBlockPlacer();
@@ -118,7 +132,7 @@ class BuildStructureFeatureTest {
         var placer = new RecordingBlockPlacer();
         Map<String, Object> baseArgs = new HashMap<>();
         baseArgs.put("x", 0);
-        baseArgs.put("y", 0);
+        baseArgs.put("y", 64); // bridge supports and the well shaft go below y
         baseArgs.put("z", 0);
 
         // All ten types should work
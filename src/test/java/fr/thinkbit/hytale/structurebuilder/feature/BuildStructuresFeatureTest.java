@@ -0,0 +1,29 @@
+package fr.thinkbit.hytale.structurebuilder.feature;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildStructuresFeatureTest {
+
+    private final BuildStructuresFeature feature = new BuildStructuresFeature(new BuildStructureFeature());
+
+    @Test
+    void getName() {
+        assertEquals("build_structures", feature.getName());
+    }
+
+    @Test
+    void getToolDefinition() {
+        var tool = feature.getToolDefinition();
+        assertNotNull(tool);
+        assertEquals("build_structures", tool.getName());
+    }
+
+    @Test
+    void getInputSchema() {
+        String schema = feature.getInputSchema();
+        assertTrue(schema.contains("\"structures\""));
+        assertTrue(schema.contains("\"array\""));
+    }
+}
@@ -0,0 +1,253 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import fr.thinkbit.hytale.structurebuilder.material.LocalBlockRegistry;
+import fr.thinkbit.hytale.structurebuilder.material.MaterialPresets;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkBatchingBlockPlacerTest {
+
+    @Test
+    void groupsWritesByChunk() {
+        var placer = new ChunkBatchingBlockPlacer();
+        placer.setBlock(0, 64, 0, "A");
+        placer.setBlock(31, 64, 31, "B");
+        placer.setBlock(32, 64, 0, "C");
+        placer.setBlock(-1, 64, 0, "D");
+
+        assertEquals(4, placer.getBlockCount());
+        assertEquals(3, placer.getChunkCount());
+    }
+
+    @Test
+    void flushWritesOneBatchPerChunk() {
+        var placer = new ChunkBatchingBlockPlacer();
+        for (int x = 0; x < 64; x++) {
+            placer.setBlock(x, 10, 5, "Rock_Stone");
+        }
+
+        List<ChunkBatch> written = new ArrayList<>();
+        int chunks = placer.flush(new ChunkWriter() {
+            @Override
+            public void writeChunk(ChunkBatch batch, int from, int to) {
+                written.add(batch);
+            }
+
+            @Override
+            public void fillChunk(ChunkBatch batch, int fill, int fromY, int toY) {
+            }
+        });
+
+        assertEquals(2, chunks);
+        assertEquals(2, written.size());
+        assertEquals(32, written.get(0).size());
+        assertEquals(32, written.get(1).size());
+        assertEquals(0, placer.getChunkCount(), "Stage should be empty after flush");
+    }
+
+    @Test
+    void preservesCoordinatesAndOrder() {
+        var placer = new ChunkBatchingBlockPlacer();
+        placer.setBlock(-33, -5, 70, "A");
+        placer.setBlock(-33, 300, 70, "B");
+
+        RecordingBlockPlacer recorder = new RecordingBlockPlacer();
+        placer.flush(ChunkWriter.forPlacer(recorder));
+
+        assertEquals(-33, recorder.getBlocks().get(0).x());
+        assertEquals(-5, recorder.getBlocks().get(0).y());
+        assertEquals(70, recorder.getBlocks().get(0).z());
+        assertEquals("A", recorder.getBlocks().get(0).blockType());
+        assertTrue(recorder.hasBlockAt(-33, 300, 70, "B"));
+    }
+
+    @Test
+    void stagesFullStructure() {
+        var placer = new ChunkBatchingBlockPlacer();
+        Map<String, Object> args = new HashMap<>();
+        args.put("x", 20);
+        args.put("y", 64);
+        args.put("z", 20);
+
+        StructureResult result = new HouseGenerator().generate(args,
+                MaterialPresets.STONE_CASTLE, placer);
+
+        int staged = placer.getBatches().stream().mapToInt(ChunkBatch::size).sum();
+        assertEquals(result.getBlocksPlaced(), placer.getBlockCount());
+        assertEquals(placer.getEffectiveBlockCount(), staged);
+    }
+
+    @Test
+    void lastWriteWins() {
+        var placer = new ChunkBatchingBlockPlacer();
+        placer.setBlock(5, 10, 5, "Wall");
+        placer.setBlock(6, 10, 5, "Wall");
+        placer.setBlock(5, 10, 5, "Empty");
+
+        assertEquals(3, placer.getBlockCount());
+        assertEquals(2, placer.getEffectiveBlockCount());
+
+        RecordingBlockPlacer recorder = new RecordingBlockPlacer();
+        placer.flush(ChunkWriter.forPlacer(recorder));
+        assertEquals(2, recorder.getBlockCount());
+        assertTrue(recorder.hasBlockAt(5, 10, 5, "Empty"));
+        assertFalse(recorder.hasBlockAt(5, 10, 5, "Wall"));
+    }
+
+    @Test
+    void coalescesManyPositions() {
+        var placer = new ChunkBatchingBlockPlacer();
+        for (int pass = 0; pass < 2; pass++) {
+            for (int x = 0; x < 32; x++) {
+                for (int y = 0; y < 40; y++) {
+                    placer.setBlock(x, y, 3, pass == 0 ? "A" : "B");
+                }
+            }
+        }
+
+        assertEquals(2 * 32 * 40, placer.getBlockCount());
+        assertEquals(32 * 40, placer.getEffectiveBlockCount());
+        assertEquals(32 * 40, placer.getBatches().iterator().next().size());
+    }
+
+    @Test
+    void houseOverdrawIsReported() {
+        var placer = new ChunkBatchingBlockPlacer();
+        Map<String, Object> args = new HashMap<>();
+        args.put("x", 0);
+        args.put("y", 64);
+        args.put("z", 0);
+
+        StructureResult result = new HouseGenerator().generate(args, MaterialPresets.STONE_CASTLE, placer)
+                .withWriteStats(placer.getBlockCount(), placer.getEffectiveBlockCount());
+
+        // Windows and the door are carved into finished walls
+        assertTrue(result.getEffectiveWrites() < result.getRawWrites());
+        assertTrue(result.getOverdrawRatio() > 1.0);
+        var json = result.toJson();
+        assertEquals(result.getRawWrites(), json.get("rawWrites").getAsInt());
+        assertEquals(result.getEffectiveWrites(), json.get("effectiveWrites").getAsInt());
+        assertTrue(json.has("overdrawRatio"));
+    }
+
+    @Test
+    void noWriteStatsWithoutStaging() {
+        var result = new StructureResult(1, 0, 0, 0, 0, 0, 0, 0, "platform");
+        assertFalse(result.toJson().has("rawWrites"));
+        assertFalse(result.toJson().has("blocksWritten"));
+        assertEquals(0, result.getOverdrawRatio());
+    }
+
+    @Test
+    void applyStatsInResult() {
+        var result = new StructureResult(10, 0, 0, 0, 0, 0, 0, 0, "platform")
+                .withWriteStats(10, 8)
+                .withApplyStats(3, 5);
+
+        var json = result.toJson();
+        assertEquals(3, json.get("blocksWritten").getAsInt());
+        assertEquals(5, json.get("blocksSkipped").getAsInt());
+        assertEquals(8, json.get("effectiveWrites").getAsInt());
+    }
+
+    @Test
+    void fillIsStagedPerChunk() {
+        var placer = new ChunkBatchingBlockPlacer();
+        placer.fill(-10, 0, 0, 40, 4, 10, "Rock_Stone");
+
+        assertEquals(51 * 5 * 11, placer.getBlockCount());
+        assertEquals(51 * 5 * 11, placer.getEffectiveBlockCount());
+        // Crosses chunks -1, 0 and 1 along X
+        assertEquals(3, placer.getChunkCount());
+        for (ChunkBatch batch : placer.getBatches()) {
+            assertEquals(1, batch.getFillCount());
+            assertEquals(0, batch.size());
+        }
+    }
+
+    @Test
+    void fillReplacesEarlierBlocksAndLaterBlocksWin() {
+        var placer = new ChunkBatchingBlockPlacer();
+        placer.setBlock(1, 1, 1, "Before");
+        placer.setBlock(1, 9, 1, "Outside");
+        placer.fill(0, 0, 0, 3, 3, 3, "Fill");
+        placer.setBlock(2, 2, 2, "After");
+
+        var recorder = new RecordingBlockPlacer();
+        placer.flush(ChunkWriter.forPlacer(recorder));
+
+        assertFalse(recorder.hasBlockAt(1, 1, 1, "Before"));
+        assertTrue(recorder.hasBlockAt(1, 1, 1, "Fill"));
+        assertTrue(recorder.hasBlockAt(1, 9, 1, "Outside"));
+        // Fills are applied before single blocks, so the later write wins
+        var blocks = recorder.getBlocks();
+        assertEquals("After", blocks.get(blocks.size() - 1).blockType());
+        // The fill volume plus both single blocks outside of it or after it
+        assertEquals(64 + 2, placer.getEffectiveBlockCount());
+    }
+
+    @Test
+    void flatWorldStagesFillsOnly() {
+        var placer = new ChunkBatchingBlockPlacer();
+        Map<String, Object> args = new HashMap<>();
+        args.put("x", 0);
+        args.put("z", 0);
+        args.put("radius", 40);
+
+        StructureResult result = new FlatWorldGenerator().generate(args, MaterialPresets.STONE_CASTLE, placer);
+
+        assertEquals(81 * 81 * 71, result.getBlocksPlaced());
+        long staged = 0;
+        for (ChunkBatch batch : placer.getBatches()) {
+            assertEquals(0, batch.size());
+            staged += batch.getVolume();
+        }
+        assertEquals(result.getBlocksPlaced(), staged);
+    }
+
+    @Test
+    void cancellationStopsStagingAtTheNextChunk() {
+        var token = new CancellationToken();
+        var placer = new ChunkBatchingBlockPlacer(LocalBlockRegistry.getShared(), token, new BuildProgress());
+        placer.setBlock(0, 0, 0, "A");
+        token.cancel();
+
+        // Same chunk: still staged, the check only runs on chunk changes
+        placer.setBlock(1, 0, 0, "A");
+        assertThrows(CancellationException.class, () -> placer.setBlock(40, 0, 0, "A"));
+        assertThrows(CancellationException.class, () -> placer.fill(100, 0, 0, 200, 10, 10, "A"));
+        assertEquals(2, placer.getBlockCount());
+    }
+
+    @Test
+    void publishesStagedCountAndEstimate() {
+        var progress = new BuildProgress();
+        var placer = new ChunkBatchingBlockPlacer(LocalBlockRegistry.getShared(), CancellationToken.NONE, progress);
+        Map<String, Object> args = new HashMap<>();
+        args.put("x", 0);
+        args.put("z", 0);
+        args.put("radius", 40);
+        args.put("surfaceY", 10);
+        args.put("depth", 5);
+        args.put("clearHeight", 3);
+
+        new FlatWorldGenerator().generate(args, MaterialPresets.STONE_CASTLE, placer);
+
+        assertEquals(81 * 81 * 9, progress.getEstimatedTotal());
+        assertEquals(81 * 81 * 9, progress.getBlocksStaged());
+        assertEquals(-1, progress.getFractionDone());
+    }
+
+    @Test
+    void noneCannotBeCancelled() {
+        CancellationToken.NONE.cancel();
+        assertFalse(CancellationToken.NONE.isCancelled());
+    }
+}
@@ -0,0 +1,73 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnProfileTest {
+
+    @Test
+    void flatWorldProfile() {
+        ColumnProfile profile = FlatWorldGenerator.buildProfile(4, 7, 10, 12,
+                "Stone", "Dirt", "Grass");
+
+        assertEquals(4, profile.getRuns().size());
+        assertEquals(4, profile.getMinY());
+        assertEquals(12, profile.getMaxY());
+        assertEquals(9, profile.getHeight());
+        assertEquals("Stone", profile.getBlockAt(6));
+        assertEquals("Dirt", profile.getBlockAt(7));
+        assertEquals("Grass", profile.getBlockAt(10));
+        assertEquals(FlatWorldGenerator.AIR, profile.getBlockAt(12));
+        assertNull(profile.getBlockAt(13));
+    }
+
+    @Test
+    void emptyRunsAreSkipped() {
+        // No stone when the dirt layer reaches the bottom
+        ColumnProfile profile = FlatWorldGenerator.buildProfile(8, 8, 10, 11,
+                "Stone", "Dirt", "Grass");
+
+        assertEquals(3, profile.getRuns().size());
+        assertEquals("Dirt", profile.getBlockAt(8));
+    }
+
+    @Test
+    void overlappingRunsAreRejected() {
+        var builder = new ColumnProfile.Builder().run(0, 5, "Stone");
+        assertThrows(IllegalArgumentException.class, () -> builder.run(5, 6, "Dirt"));
+    }
+
+    @Test
+    void defaultStampWritesEveryColumn() {
+        var placer = new RecordingBlockPlacer();
+        ColumnProfile profile = new ColumnProfile.Builder()
+                .run(0, 1, "Stone")
+                .run(2, 2, "Grass")
+                .build();
+
+        placer.stampColumns(-1, -1, 1, 1, profile);
+
+        assertEquals(27, placer.getBlockCount());
+        assertTrue(placer.hasBlockAt(-1, 1, 1, "Stone"));
+        assertTrue(placer.hasBlockAt(1, 2, -1, "Grass"));
+    }
+
+    @Test
+    void stagedStampMatchesDefault() {
+        var staged = new ChunkBatchingBlockPlacer();
+        ColumnProfile profile = new ColumnProfile.Builder()
+                .run(0, 3, "Stone")
+                .run(4, 9, "Empty")
+                .build();
+
+        staged.stampColumns(-20, 0, 40, 10, profile);
+        var recorder = new RecordingBlockPlacer();
+        staged.flush(ChunkWriter.forPlacer(recorder));
+
+        assertEquals(61 * 11 * 10, staged.getBlockCount());
+        assertEquals(staged.getBlockCount(), recorder.getBlockCount());
+        assertTrue(recorder.hasBlockAt(40, 9, 10, "Empty"));
+        assertTrue(recorder.hasBlockAt(-20, 0, 0, "Stone"));
+    }
+}
@@ -0,0 +1,57 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import fr.thinkbit.hytale.structurebuilder.material.BlockRegistry;
+import fr.thinkbit.hytale.structurebuilder.material.LocalBlockRegistry;
+import fr.thinkbit.hytale.structurebuilder.material.MaterialPresets;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DryRunBlockPlacerTest {
+
+    private final DryRunBlockPlacer dryRun = new DryRunBlockPlacer(LocalBlockRegistry.getShared());
+
+    @Test
+    void flatWorldIsCountedInClosedForm() {
+        Map<String, Object> args = Map.of("x", 0, "z", 0, "radius", 1000, "surfaceY", 64, "depth", 10, "clearHeight", 50);
+
+        StructureResult result = new FlatWorldGenerator().generate(args, MaterialPresets.STONE_CASTLE, dryRun);
+
+        long expected = 2001L * 2001 * 61;
+        assertEquals(expected, dryRun.getWrites());
+        assertEquals(expected, dryRun.getExpected());
+        // -1000..1000 spans chunks -32..31 on each axis
+        assertEquals(64 * 64, dryRun.getChunkCount());
+        assertEquals(1000, result.getMaxX());
+    }
+
+    @Test
+    void matchesWhatAStagedBuildWouldWrite() {
+        Map<String, Object> args = Map.of("x", 30, "y", 64, "z", 30, "width", 9, "depth", 7, "floors", 2);
+        var staged = new ChunkBatchingBlockPlacer();
+
+        new HouseGenerator().generate(args, MaterialPresets.STONE_CASTLE, staged);
+        new HouseGenerator().generate(args, MaterialPresets.STONE_CASTLE, dryRun);
+
+        assertEquals(staged.getBlockCount(), dryRun.getBlockCount());
+        assertEquals(staged.getChunkCount(), dryRun.getChunkCount());
+    }
+
+    @Test
+    void unknownBlocksFailLikeARealBuild() {
+        var strict = new DryRunBlockPlacer(new BlockRegistry() {
+            @Override
+            public int getId(String blockType) {
+                throw new IllegalArgumentException("Unknown block type: " + blockType);
+            }
+
+            @Override
+            public String getName(int blockId) {
+                throw new IllegalArgumentException("Unknown block id: " + blockId);
+            }
+        });
+        assertThrows(IllegalArgumentException.class, () -> strict.fill(0, 0, 0, 1, 1, 1, "No_Such_Block"));
+    }
+}
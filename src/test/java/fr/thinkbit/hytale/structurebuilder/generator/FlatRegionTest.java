@@ -0,0 +1,40 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlatRegionTest {
+
+    private static FlatRegion region() {
+        var generator = new FlatWorldGenerator();
+        var plan = generator.plan(generator.getParams().bind(Map.of("x", 0, "z", 0, "radius", 40)));
+        return FlatRegion.of("r1", "default", plan);
+    }
+
+    @Test
+    void clipsToTheChunkAndRegion() {
+        FlatRegion region = region();
+
+        assertEquals(new Tile(0, -40, -40, -33, -33), region.clipToChunk(-2, -2));
+        assertEquals(new Tile(0, 0, 0, 31, 31), region.clipToChunk(0, 0));
+        assertEquals(new Tile(0, 32, -32, 40, -1), region.clipToChunk(1, -1));
+        assertNull(region.clipToChunk(2, 0));
+        assertNull(region.clipToChunk(0, -3));
+    }
+
+    @Test
+    void survivesJson() {
+        FlatRegion region = region();
+
+        FlatRegion copy = FlatRegion.fromJson(region.toJson());
+
+        assertEquals(region.id(), copy.id());
+        assertEquals(region.maxZ(), copy.maxZ());
+        assertEquals(region.profile().getRuns(), copy.profile().getRuns());
+        assertThrows(IllegalArgumentException.class, () -> FlatRegion.fromJson(new JsonObject()));
+    }
+}
@@ -160,6 +160,25 @@ class FlatWorldGeneratorTest {
         assertEquals(124, result.getMaxY());  // 64 + 60
     }
 
+    @Test
+    void maximumRadiusCountsPastIntRange() {
+        var placer = new ChunkBatchingBlockPlacer();
+        Map<String, Object> args = new HashMap<>();
+        args.put("x", 0);
+        args.put("z", 0);
+        args.put("radius", 4096);
+
+        StructureResult result = generator.generate(args, MaterialPresets.STONE_CASTLE, placer);
+
+        // 8193 * 8193 columns of 71 blocks, well past Integer.MAX_VALUE
+        long expected = 8193L * 8193 * 71;
+        assertEquals(4_765_892_679L, expected);
+        assertEquals(expected, result.getBlocksPlaced());
+        assertEquals(expected, placer.getBlockCount());
+        assertEquals(expected, placer.getEffectiveBlockCount());
+        assertEquals(expected, result.toJson().get("blocksPlaced").getAsLong());
+    }
+
     @Test
     void clearsAboveSurface() {
         var placer = new RecordingBlockPlacer();
@@ -190,4 +209,30 @@ class FlatWorldGeneratorTest {
         assertThrows(IllegalArgumentException.class,
                 () -> generator.generate(args, MaterialPresets.STONE_CASTLE, placer));
     }
+
+    @Test
+    void rejectsTerrainReachingBelowTheWorld() {
+        Map<String, Object> args = new HashMap<>(Map.of("x", 0, "z", 0, "radius", 2, "surfaceY", 10));
+        args.put("depth", 319);
+
+        var e = assertThrows(IllegalArgumentException.class,
+                () -> generator.generate(args, MaterialPresets.STONE_CASTLE, new RecordingBlockPlacer()));
+        assertTrue(e.getMessage().contains("y=-309"), e.getMessage());
+
+        args.put("depth", 10);
+        assertEquals(0, generator.generate(args, MaterialPresets.STONE_CASTLE, new RecordingBlockPlacer()).getMinY());
+    }
+
+    @Test
+    void rejectsClearingAboveTheWorld() {
+        Map<String, Object> args = new HashMap<>(Map.of("x", 0, "z", 0, "radius", 2, "surfaceY", 64));
+        args.put("clearHeight", 319);
+
+        var e = assertThrows(IllegalArgumentException.class,
+                () -> generator.generate(args, MaterialPresets.STONE_CASTLE, new RecordingBlockPlacer()));
+        assertTrue(e.getMessage().contains("y=383"), e.getMessage());
+
+        args.put("clearHeight", 255);
+        assertEquals(319, generator.generate(args, MaterialPresets.STONE_CASTLE, new RecordingBlockPlacer()).getMaxY());
+    }
 }
@@ -327,4 +327,15 @@ class HouseGeneratorTest {
         assertThrows(IllegalArgumentException.class,
                 () -> generator.generate(args, MaterialPresets.STONE_CASTLE, placer));
     }
+
+    @Test
+    void houseMustFitBelowTheWorldTop() {
+        // Two floors of 4 with their slabs, then a gable roof of 4 layers over depth 9
+        Map<String, Object> args = new HashMap<>(Map.of("x", 0, "y", 305, "z", 0, "depth", 9, "floors", 2));
+        assertEquals(319, generator.generate(args, MaterialPresets.RUSTIC_WOOD, new RecordingBlockPlacer()).getMaxY());
+
+        args.put("y", 306);
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.generate(args, MaterialPresets.RUSTIC_WOOD, new RecordingBlockPlacer()));
+    }
 }
@@ -0,0 +1,107 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import fr.thinkbit.hytale.structurebuilder.material.MaterialPresets;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingBlockPlacerTest {
+
+    @Test
+    void packedPositionsRoundTrip() {
+        int[][] samples = {
+                {0, 0, 0}, {-1, -1, -1}, {123, 319, -456},
+                {(1 << 25) - 1, 2047, -(1 << 25)}, {-(1 << 25), -2048, (1 << 25) - 1}
+        };
+        for (int[] s : samples) {
+            long pos = RecordingBlockPlacer.pack(s[0], s[1], s[2]);
+            assertEquals(s[0], RecordingBlockPlacer.unpackX(pos));
+            assertEquals(s[1], RecordingBlockPlacer.unpackY(pos));
+            assertEquals(s[2], RecordingBlockPlacer.unpackZ(pos));
+        }
+    }
+
+    @Test
+    void rejectsPositionsOutOfRange() {
+        var placer = new RecordingBlockPlacer();
+        assertThrows(IllegalArgumentException.class, () -> placer.setBlock(1 << 25, 0, 0, "A"));
+        assertThrows(IllegalArgumentException.class, () -> placer.setBlock(0, 2048, 0, "A"));
+        assertEquals(0, placer.getBlockCount());
+    }
+
+    @Test
+    void queriesSeeTheFinalBlockPerPosition() {
+        var placer = new RecordingBlockPlacer();
+        placer.setBlock(-3, 70, 5, "A");
+        placer.setBlock(1, 2, 3, "B");
+        placer.setBlock(-3, 70, 5, "B");
+
+        assertEquals(3, placer.getBlockCount());
+        assertEquals(2, placer.getPositionCount());
+        assertTrue(placer.hasBlockAt(-3, 70, 5, "B"));
+        assertFalse(placer.hasBlockAt(-3, 70, 5, "A"));
+        assertFalse(placer.hasBlockAt(1, 2, 3, "A"));
+        assertFalse(placer.hasBlockAt(0, 0, 0));
+        assertEquals(2, placer.countBlocksOfType("B"));
+        assertEquals(0, placer.countBlocksOfType("A"));
+        assertFalse(placer.hasAnyBlockOfType("A"));
+        assertFalse(placer.hasAnyBlockOfType("C"));
+        assertEquals(Set.of("B"), placer.getBlockTypesUsed());
+
+        // The write log still keeps every write in order
+        assertEquals(new RecordingBlockPlacer.PlacedBlock(-3, 70, 5, "A"), placer.getBlocks().get(0));
+    }
+
+    @Test
+    void indexSurvivesGrowth() {
+        var placer = new RecordingBlockPlacer();
+        placer.fill(-50, 0, -50, 49, 9, 49, "A");
+        placer.fill(-10, 5, -10, 9, 9, 9, "B");
+
+        assertEquals(100 * 100 * 10, placer.getPositionCount());
+        assertEquals(20 * 20 * 5, placer.countBlocksOfType("B"));
+        assertEquals(100 * 100 * 10 - 20 * 20 * 5, placer.countBlocksOfType("A"));
+        assertTrue(placer.hasBlockAt(-50, 0, -50, "A"));
+        assertTrue(placer.hasBlockAt(0, 9, 0, "B"));
+        assertFalse(placer.hasBlockAt(50, 0, 0));
+    }
+
+    @Test
+    void blocksViewIsReadOnlySnapshot() {
+        var placer = new RecordingBlockPlacer();
+        placer.setBlock(0, 0, 0, "A");
+        var blocks = placer.getBlocks();
+        placer.setBlock(1, 0, 0, "A");
+
+        assertEquals(1, blocks.size());
+        assertThrows(UnsupportedOperationException.class,
+                () -> blocks.add(new RecordingBlockPlacer.PlacedBlock(0, 0, 0, "A")));
+    }
+
+    @Test
+    void recordsMultiMillionBlockFlatWorld() {
+        var placer = new RecordingBlockPlacer();
+        Map<String, Object> args = new HashMap<>();
+        args.put("x", 0);
+        args.put("z", 0);
+        args.put("radius", 200);    // 401x401 columns
+        args.put("surfaceY", 64);
+        args.put("depth", 10);
+        args.put("clearHeight", 8);
+
+        new FlatWorldGenerator().generate(args, MaterialPresets.STONE_CASTLE, placer);
+
+        // 10 below + surface + 8 air = 19 blocks per column
+        assertEquals(401 * 401 * 19, placer.getBlockCount());
+        var last = placer.getBlocks().get(placer.getBlocks().size() - 1);
+        assertEquals(FlatWorldGenerator.AIR, last.blockType());
+        assertEquals(72, last.y());
+        // 3 dirt + 1 surface per column, both Soil_Dirt by default
+        assertEquals(401 * 401 * 4, placer.countBlocksOfType(FlatWorldGenerator.DEFAULT_DIRT));
+        assertTrue(placer.hasBlockAt(-200, 54, 200, FlatWorldGenerator.DEFAULT_STONE));
+    }
+}
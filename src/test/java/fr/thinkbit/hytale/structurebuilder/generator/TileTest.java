@@ -0,0 +1,80 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileTest {
+
+    @Test
+    void tilesCoverTheAreaExactlyOnce() {
+        List<Tile> tiles = Tile.split(-70, 10, 200, 300, 4);
+
+        long area = 0;
+        for (Tile tile : tiles) {
+            area += tile.getArea();
+        }
+        assertEquals(271L * 291, area);
+        assertEquals(-70, tiles.get(0).minX());
+        assertEquals(10, tiles.get(0).minZ());
+        assertEquals(200, tiles.get(tiles.size() - 1).maxX());
+        assertEquals(300, tiles.get(tiles.size() - 1).maxZ());
+        for (int i = 0; i < tiles.size(); i++) {
+            assertEquals(i, tiles.get(i).index());
+        }
+    }
+
+    @Test
+    void tileEdgesFallOnChunkBoundaries() {
+        for (Tile tile : Tile.split(-70, 10, 200, 300, 2)) {
+            if (tile.minX() != -70) assertEquals(0, tile.minX() & 31);
+            if (tile.maxX() != 200) assertEquals(31, tile.maxX() & 31);
+            if (tile.minZ() != 10) assertEquals(0, tile.minZ() & 31);
+            if (tile.maxZ() != 300) assertEquals(31, tile.maxZ() & 31);
+            // At most two chunks a side
+            assertTrue((tile.maxX() >> 5) - (tile.minX() >> 5) < 2);
+            assertTrue((tile.maxZ() >> 5) - (tile.minZ() >> 5) < 2);
+        }
+    }
+
+    @Test
+    void smallAreaIsOneTile() {
+        assertEquals(List.of(new Tile(0, 3, 3, 20, 20)), Tile.split(3, 3, 20, 20, 4));
+    }
+
+    @Test
+    void spiralStartsAtTheCenterAndGrowsRingByRing() {
+        List<Tile> grid = Tile.split(0, 0, 639, 639, 4);
+        List<Tile> spiral = Tile.splitSpiral(0, 0, 639, 639, 4, 320, 320);
+
+        assertEquals(grid.size(), spiral.size());
+        assertEquals(new HashSet<>(areas(grid)), new HashSet<>(areas(spiral)));
+        assertTrue(spiral.get(0).minX() <= 320 && 320 <= spiral.get(0).maxX());
+        assertTrue(spiral.get(0).minZ() <= 320 && 320 <= spiral.get(0).maxZ());
+        // Each tile is at most one ring further from the center than the one before
+        int ring = 0;
+        for (int i = 0; i < spiral.size(); i++) {
+            assertEquals(i, spiral.get(i).index());
+            int next = Math.max(Math.abs(spiral.get(i).minX() / 128 - 2), Math.abs(spiral.get(i).minZ() / 128 - 2));
+            assertTrue(next == ring || next == ring + 1);
+            ring = next;
+        }
+    }
+
+    @Test
+    void spiralCoversAnOffCenterArea() {
+        List<Tile> spiral = Tile.splitSpiral(-300, 40, 500, 200, 2, -300, 200);
+
+        assertEquals(Tile.split(-300, 40, 500, 200, 2).size(), spiral.size());
+        assertEquals(-300, spiral.get(0).minX());
+        assertEquals(200, spiral.get(0).maxZ());
+        assertEquals(801L * 161, spiral.stream().mapToLong(Tile::getArea).sum());
+    }
+
+    private static List<List<Integer>> areas(List<Tile> tiles) {
+        return tiles.stream().map(t -> List.of(t.minX(), t.minZ(), t.maxX(), t.maxZ())).toList();
+    }
+}
@@ -164,4 +164,16 @@ class TowerGeneratorTest {
         assertThrows(IllegalArgumentException.class,
                 () -> generator.generate(args, MaterialPresets.STONE_CASTLE, placer));
     }
+
+    @Test
+    void towerMustFitBelowTheWorldTop() {
+        // 10 walls, the roof and the battlements above y
+        Map<String, Object> args = new HashMap<>(Map.of("x", 0, "y", 307, "z", 0, "height", 10));
+        assertEquals(319, generator.generate(args, MaterialPresets.STONE_CASTLE, new RecordingBlockPlacer()).getMaxY());
+
+        args.put("y", 308);
+        var e = assertThrows(IllegalArgumentException.class,
+                () -> generator.generate(args, MaterialPresets.STONE_CASTLE, new RecordingBlockPlacer()));
+        assertTrue(e.getMessage().contains("y=320"), e.getMessage());
+    }
 }
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -150,4 +151,26 @@ class WallGeneratorTest {
         assertThrows(IllegalArgumentException.class,
                 () -> generator.generate(args, MaterialPresets.STONE_CASTLE, placer));
     }
+
+    @Test
+    void expectedCountMatchesActual() {
+        AtomicLong expected = new AtomicLong(-1);
+        var placer = new RecordingBlockPlacer() {
+            @Override
+            public void expect(long blocks) {
+                expected.set(blocks);
+            }
+        };
+        Map<String, Object> args = new HashMap<>();
+        args.put("x", 0);
+        args.put("y", 0);
+        args.put("z", 0);
+        args.put("length", 7);
+        args.put("height", 4);
+        args.put("thickness", 2);
+
+        StructureResult result = generator.generate(args, MaterialPresets.STONE_CASTLE, placer);
+
+        assertEquals(result.getBlocksPlaced(), expected.get());
+    }
 }
@@ -0,0 +1,155 @@
+package fr.thinkbit.hytale.structurebuilder.generator;
+
+import fr.thinkbit.hytale.structurebuilder.material.LocalBlockRegistry;
+import fr.thinkbit.hytale.structurebuilder.material.MaterialPalette;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldBlockPlacerTest {
+
+    // LocalBlockRegistry gives the empty block id 0, like the server
+    private static final int AIR = 0;
+
+    private final LocalBlockRegistry registry = new LocalBlockRegistry();
+    private final FakeWorld world = new FakeWorld();
+
+    @Test
+    void diffModeSkipsBlocksThatAlreadyMatch() {
+        int stone = registry.getId("Rock_Stone");
+        world.set(0, 64, 0, stone);
+        world.set(1, 64, 0, stone);
+
+        var diff = new WorldBlockPlacer(world, registry, true);
+        diff.fill(0, 64, 0, 3, 64, 0, "Rock_Stone");
+
+        assertEquals(2, diff.getBlockCount());
+        assertEquals(2, diff.getSkippedCount());
+        assertEquals(2, world.writes);
+        assertEquals(stone, world.get(3, 64, 0));
+
+        var plain = new WorldBlockPlacer(world, registry, false);
+        plain.fill(0, 64, 0, 3, 64, 0, "Rock_Stone");
+
+        assertEquals(4, plain.getBlockCount());
+        assertEquals(0, plain.getSkippedCount());
+        assertEquals(6, world.writes);
+    }
+
+    @Test
+    void stagedBatchesAreDiffedToo() {
+        world.set(5, 10, 5, registry.getId("Rock_Stone"));
+        var stage = new ChunkBatchingBlockPlacer(registry);
+        stage.setBlock(5, 10, 5, "Rock_Stone");
+        stage.setBlock(6, 10, 5, "Rock_Stone");
+
+        var writer = new WorldBlockPlacer(world, registry, true);
+        for (ChunkBatch batch : stage.drainBatches()) {
+            writer.writeChunk(batch);
+        }
+
+        assertEquals(1, writer.getBlockCount());
+        assertEquals(1, writer.getSkippedCount());
+    }
+
+    @Test
+    void airFillsStopAtTheHeightmap() {
+        int stone = registry.getId("Rock_Stone");
+        world.set(0, 70, 0, stone);
+        world.set(1, 64, 0, stone);
+        var stage = new ChunkBatchingBlockPlacer(registry);
+        stage.fill(0, 65, 0, 1, 80, 0, MaterialPalette.AIR);
+
+        var writer = new WorldBlockPlacer(world, registry, false);
+        for (ChunkBatch batch : stage.drainBatches()) {
+            writer.writeChunk(batch);
+        }
+
+        // Column 0 is cleared up to its top block, column 1 is air above 64 already
+        assertEquals(6, writer.getBlockCount());
+        assertEquals(10 + 16, writer.getSkippedCount());
+        assertEquals(AIR, world.get(0, 70, 0));
+        assertEquals(stone, world.get(1, 64, 0));
+        assertEquals(6, world.writes);
+    }
+
+    @Test
+    void stampedAirRunsStopAtTheHeightmap() {
+        world.set(0, 70, 0, registry.getId("Rock_Stone"));
+        var profile = new ColumnProfile.Builder()
+                .run(60, 64, "Soil_Dirt")
+                .run(65, 80, MaterialPalette.AIR)
+                .build();
+
+        var writer = new WorldBlockPlacer(world, registry, false);
+        writer.stampColumns(0, 0, 1, 0, profile);
+
+        // Both columns get their dirt; only column 0 has anything to clear
+        assertEquals(5 + 6 + 5, writer.getBlockCount());
+        assertEquals(10 + 16, writer.getSkippedCount());
+        assertEquals(AIR, world.get(0, 70, 0));
+        assertEquals(registry.getId("Soil_Dirt"), world.get(1, 64, 0));
+    }
+
+    @Test
+    void airLayerSlicesSkipColumnsBelowIt() {
+        world.set(0, 70, 0, registry.getId("Rock_Stone"));
+        var stage = new ChunkBatchingBlockPlacer(registry);
+        stage.fill(0, 65, 0, 0, 80, 1, MaterialPalette.AIR);
+        ChunkBatch batch = stage.drainBatches().get(0);
+
+        var writer = new WorldBlockPlacer(world, registry, false);
+        writer.fillChunkLayer(batch, 0, 66, 0, 2);
+
+        // Column (0, 0) reaches y=70, column (0, 1) is empty
+        assertEquals(1, writer.getBlockCount());
+        assertEquals(1, writer.getSkippedCount());
+        assertEquals(1, world.writes);
+    }
+
+    /**
+     * Blocks by position; heights follow writes immediately, like the
+     * server's heightmap.
+     */
+    static final class FakeWorld implements WorldBlockPlacer.ChunkSource {
+        final Map<List<Integer>, Integer> blocks = new HashMap<>();
+        final Map<List<Integer>, Integer> heights = new HashMap<>();
+        int writes;
+        int heightReads;
+
+        void set(int x, int y, int z, int id) {
+            blocks.put(List.of(x, y, z), id);
+            if (id != 0) heights.merge(List.of(x, z), y, Math::max);
+        }
+
+        int get(int x, int y, int z) {
+            return blocks.getOrDefault(List.of(x, y, z), 0);
+        }
+
+        @Override
+        public WorldBlockPlacer.Chunk getChunk(int chunkX, int chunkZ) {
+            return new WorldBlockPlacer.Chunk() {
+                @Override
+                public int getBlock(int x, int y, int z) {
+                    return get(x, y, z);
+                }
+
+                @Override
+                public void setBlock(int x, int y, int z, int blockId) {
+                    writes++;
+                    set(x, y, z, blockId);
+                }
+
+                @Override
+                public int getHeight(int x, int z) {
+                    heightReads++;
+                    return heights.getOrDefault(List.of(x, z), 0);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package fr.thinkbit.hytale.structurebuilder.material;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResolvedPaletteTest {
+
+    @Test
+    void idsRoundTripThroughTheRegistry() {
+        var registry = new LocalBlockRegistry();
+        MaterialPalette p = MaterialPresets.STONE_CASTLE;
+        ResolvedPalette blocks = p.resolve(registry);
+
+        assertEquals(p.getWall(), registry.getName(blocks.getWall()));
+        assertEquals(p.getFoundation(), registry.getName(blocks.getFoundation()));
+        assertEquals(p.getLantern(), registry.getName(blocks.getLantern()));
+        assertEquals(0, blocks.getAir());
+    }
+
+    @Test
+    void resolutionIsCachedPerRegistry() {
+        var registry = new LocalBlockRegistry();
+        MaterialPalette p = MaterialPresets.RUSTIC_WOOD;
+
+        assertSame(p.resolve(registry), p.resolve(registry));
+        assertNotSame(p.resolve(registry), p.resolve(new LocalBlockRegistry()));
+    }
+
+    @Test
+    void unknownBlockFailsAtResolution() {
+        var local = new LocalBlockRegistry();
+        BlockRegistry strict = new BlockRegistry() {
+            @Override
+            public int getId(String blockType) {
+                if (!Set.of(MaterialPalette.AIR, "Rock_Stone_Cobble").contains(blockType)) {
+                    throw new IllegalArgumentException("Unknown block type: " + blockType);
+                }
+                return local.getId(blockType);
+            }
+
+            @Override
+            public String getName(int blockId) {
+                return local.getName(blockId);
+            }
+        };
+        MaterialPalette p = new MaterialPalette.Builder("broken")
+                .foundation("Rock_Stone_Cobble")
+                .wall("Not_A_Block")
+                .build();
+
+        var e = assertThrows(IllegalArgumentException.class, () -> p.resolve(strict));
+        assertTrue(e.getMessage().contains("Not_A_Block"));
+    }
+
+    @Test
+    void localRegistryAcceptsAnyName() {
+        var registry = new LocalBlockRegistry();
+        int id = registry.getId("Custom_Block");
+        assertEquals(id, registry.getId("Custom_Block"));
+        assertEquals("Custom_Block", registry.getName(id));
+        assertThrows(IllegalArgumentException.class, () -> registry.getName(9999));
+    }
+}
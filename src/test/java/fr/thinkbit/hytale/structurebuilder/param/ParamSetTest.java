@@ -0,0 +1,70 @@
+package fr.thinkbit.hytale.structurebuilder.param;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParamSetTest {
+
+    private static final Param<Integer> X = Param.integer("x", "X coordinate");
+    private static final Param<Integer> WIDTH = Param.integer("width", "Width").withDefault(10).range(1, 256);
+    private static final Param<String> DIRECTION = Param.string("direction", "Direction")
+            .withDefault("x").oneOf("x", "z");
+    private static final Param<Boolean> ROOF = Param.bool("roof", "Add roof").withDefault(true);
+
+    private final ParamSet params = ParamSet.of(X, WIDTH, DIRECTION, ROOF);
+
+    @Test
+    void appliesDefaults() {
+        Params bound = params.bind(Map.of("x", 5));
+
+        assertEquals(5, bound.get(X));
+        assertEquals(10, bound.get(WIDTH));
+        assertEquals("x", bound.get(DIRECTION));
+        assertTrue(bound.get(ROOF));
+    }
+
+    @Test
+    void acceptsWhatClientsSend() {
+        Params bound = params.bind(Map.of("x", 5.0, "width", "12", "roof", "FALSE"));
+
+        assertEquals(5, bound.get(X));
+        assertEquals(12, bound.get(WIDTH));
+        assertFalse(bound.get(ROOF));
+    }
+
+    @Test
+    void missingRequiredParameter() {
+        var e = assertThrows(IllegalArgumentException.class, () -> params.bind(Map.of()));
+        assertEquals("Missing required parameter: x", e.getMessage());
+    }
+
+    @Test
+    void rejectsOutOfRangeAndUnknownValues() {
+        var e = assertThrows(IllegalArgumentException.class,
+                () -> params.bind(Map.of("x", 1.5, "width", 100_000, "direction", "y", "roof", "maybe")));
+
+        assertTrue(e.getMessage().contains("Parameter x must be an integer, got: 1.5"), e.getMessage());
+        assertTrue(e.getMessage().contains("Parameter width must be between 1 and 256, got: 100000"));
+        assertTrue(e.getMessage().contains("Parameter direction must be one of x, z, got: y"));
+        assertTrue(e.getMessage().contains("Parameter roof must be true or false, got: maybe"));
+    }
+
+    @Test
+    void undeclaredParameterCannotBeRead() {
+        Params bound = ParamSet.of(X).bind(Map.of("x", 1));
+        assertThrows(IllegalArgumentException.class, () -> bound.get(WIDTH));
+    }
+
+    @Test
+    void checksRunOnTheBoundValues() {
+        ParamSet checked = params.withCheck(bound -> bound.get(X) + bound.get(WIDTH) > 100 ? "too far" : null);
+
+        assertEquals(90, checked.bind(Map.of("x", 90)).get(X));
+        var e = assertThrows(IllegalArgumentException.class, () -> checked.bind(Map.of("x", 91)));
+        assertEquals("too far", e.getMessage());
+        assertEquals(91, params.bind(Map.of("x", 91)).get(X), "The original set is unchanged");
+    }
+}